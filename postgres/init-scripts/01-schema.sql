@@ -11,4 +11,18 @@ CREATE TABLE IF NOT EXISTS asteroid_resource (
     resource_type VARCHAR(20) NOT NULL,
     amount INTEGER NOT NULL,
     PRIMARY KEY (asteroid_id, resource_type)
-);
\ No newline at end of file
+);
+-- Index for range queries on the distance (e.g. '/filter/range')
+CREATE INDEX IF NOT EXISTS idx_asteroids_distance ON asteroids USING btree (distance);
+
+-- Index for resource filters (e.g. '/filter/resource'). The primary key leads on asteroid_id and cannot serve them.
+CREATE INDEX IF NOT EXISTS idx_asteroid_resource_type ON asteroid_resource USING btree (resource_type, asteroid_id);
+
+-- Current market price per unit of each resource type. Joined by the profitability filter (e.g. '/filter/profitable').
+CREATE TABLE IF NOT EXISTS market_prices (
+    resource_type VARCHAR(20) PRIMARY KEY,
+    price INTEGER NOT NULL
+);
+
+-- Index for name lookups (e.g. '/search/name') and the uniqueness check of generated names. Names are not unique.
+CREATE INDEX IF NOT EXISTS idx_asteroids_name ON asteroids USING btree (name);
@@ -49,4 +49,12 @@ INSERT INTO asteroid_resource (asteroid_id, resource_type, amount)
 VALUES (
            (SELECT id FROM asteroids WHERE name = 'Aris-Centurion' LIMIT 1),
     'KRYPTONITE', 1500
-    );
\ No newline at end of file
+    );
+
+-- Market prices per unit, same as the sample prices of the InMemoryMarketRepository
+INSERT INTO market_prices (resource_type, price)
+VALUES ('IRON', 15),
+       ('GOLD', 120),
+       ('PLATINUM', 300),
+       ('KRYPTONITE', 1500)
+ON CONFLICT (resource_type) DO NOTHING;
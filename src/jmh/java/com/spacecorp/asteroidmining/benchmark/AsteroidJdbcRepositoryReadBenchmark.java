@@ -0,0 +1,129 @@
+package com.spacecorp.asteroidmining.benchmark;
+
+import com.spacecorp.asteroidmining.AsteroidMiningApiApplication;
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.generator.RandomAsteroidFactory;
+import com.spacecorp.asteroidmining.repository.AsteroidRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the reads of the JDBC repository against the Postgres database of the docker-compose setup.
+ * <p>
+ * Requires a running database ({@code docker compose up db}) and the {@code DB_USER_PASSWORD}
+ * environment variable. Missing sample asteroids are saved to the database before the measurement.
+ * </p>
+ * <p>
+ * Next to the throughput, the {@code statements} and {@code asteroids} counters report how many SQL statements
+ * were sent and how many asteroids were loaded. The number of statements must not grow with the page size.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsteroidJdbcRepositoryReadBenchmark {
+
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "createStatement", "prepareCall");
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private final AtomicLong statementCount = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private AsteroidRepository repository;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RoundTrips {
+        public long statements;
+        public long asteroids;
+    }
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(AsteroidMiningApiApplication.class)
+                .profiles("postgres")
+                .web(WebApplicationType.NONE)
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new StatementCountingPostProcessor(statementCount)))
+                // The test configuration on the benchmark classpath disables the data source auto-configuration.
+                .run("--spring.autoconfigure.exclude=");
+        repository = context.getBean(AsteroidRepository.class);
+
+        var asteroidFactory = new RandomAsteroidFactory();
+        for (int missing = pageSize - repository.findPage(0, pageSize).size(); missing > 0; missing--) {
+            repository.save(asteroidFactory.createWithName("Benchmark " + missing));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Asteroid> findPage(RoundTrips roundTrips) {
+        return count(roundTrips, repository.findPage(0, pageSize));
+    }
+
+    @Benchmark
+    public List<Asteroid> findInRangePage(RoundTrips roundTrips) {
+        return count(roundTrips, repository.findInRange(Double.MAX_VALUE, 0, pageSize));
+    }
+
+    private List<Asteroid> count(RoundTrips roundTrips, List<Asteroid> asteroids) {
+        roundTrips.statements += statementCount.getAndSet(0);
+        roundTrips.asteroids += asteroids.size();
+        return asteroids;
+    }
+
+    /**
+     * Wraps the data source so that every statement created on its connections is counted.
+     */
+    private record StatementCountingPostProcessor(AtomicLong statementCount) implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return countStatements(super.getConnection());
+                }
+            };
+        }
+
+        private Connection countStatements(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (STATEMENT_METHODS.contains(method.getName())) {
+                            statementCount.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                    });
+        }
+    }
+}
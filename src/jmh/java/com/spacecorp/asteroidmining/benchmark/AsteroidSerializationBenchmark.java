@@ -0,0 +1,56 @@
+package com.spacecorp.asteroidmining.benchmark;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.AsteroidPage;
+import com.spacecorp.asteroidmining.generator.RandomAsteroidFactory;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Jackson serialization of asteroids, as done for every JSON and NDJSON response.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsteroidSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ObjectWriter asteroidWriter;
+    private ObjectWriter pageWriter;
+    private Asteroid asteroid;
+    private AsteroidPage page;
+
+    @Setup(Level.Trial)
+    public void createAsteroids() {
+        var jsonMapper = JsonMapper.builder().build();
+        asteroidWriter = jsonMapper.writerFor(Asteroid.class);
+        pageWriter = jsonMapper.writerFor(AsteroidPage.class);
+
+        var asteroidFactory = new RandomAsteroidFactory();
+        List<Asteroid> asteroids = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            asteroids.add(asteroidFactory.createWithName("Benchmark " + id).withId(id));
+        }
+        asteroid = asteroids.getFirst();
+        page = new AsteroidPage(List.copyOf(asteroids), (long) PAGE_SIZE);
+    }
+
+    @Benchmark
+    public byte[] serializeAsteroid() {
+        return asteroidWriter.writeValueAsBytes(asteroid);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return pageWriter.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,62 @@
+package com.spacecorp.asteroidmining.benchmark;
+
+import com.spacecorp.asteroidmining.domain.AsteroidPage;
+import com.spacecorp.asteroidmining.generator.LocalAsteroidGenerator;
+import com.spacecorp.asteroidmining.generator.RandomAsteroidFactory;
+import com.spacecorp.asteroidmining.repository.InMemoryAsteroidRepository;
+import com.spacecorp.asteroidmining.repository.InMemoryMarketRepository;
+import com.spacecorp.asteroidmining.service.AsteroidService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AsteroidService#getProfitableAsteroids(int, Long, int)} on top of the in-memory repositories.
+ * <p>
+ * The minimum values select almost all asteroids ({@code 1}) and only very few of them ({@code 150000000}),
+ * which take different paths through the valuation index.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AsteroidServiceValuationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    @Param({"1", "150000000"})
+    public int minValue;
+
+    private AsteroidService asteroidService;
+    private long middleCursor;
+
+    @Setup(Level.Trial)
+    public void fillCatalog() {
+        var asteroidFactory = new RandomAsteroidFactory();
+        var asteroidRepository = new InMemoryAsteroidRepository();
+        for (int i = 0; i < catalogSize; i++) {
+            asteroidRepository.save(asteroidFactory.createWithName("Benchmark " + i));
+        }
+        asteroidService = new AsteroidService(asteroidRepository, new InMemoryMarketRepository(), asteroidFactory,
+                new LocalAsteroidGenerator(asteroidFactory), PAGE_SIZE, catalogSize);
+        middleCursor = catalogSize / 2;
+        // Builds the valuation index for the market prices before the measurement.
+        asteroidService.getProfitableAsteroids(minValue, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public AsteroidPage firstPage() {
+        return asteroidService.getProfitableAsteroids(minValue, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public AsteroidPage middlePage() {
+        return asteroidService.getProfitableAsteroids(minValue, middleCursor, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,105 @@
+package com.spacecorp.asteroidmining.benchmark;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.ResourceType;
+import com.spacecorp.asteroidmining.generator.RandomAsteroidFactory;
+import com.spacecorp.asteroidmining.repository.InMemoryAsteroidRepository;
+import com.spacecorp.asteroidmining.repository.InMemoryMarketRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the queries of the {@link InMemoryAsteroidRepository} depending on the size of the catalog.
+ * <p>
+ * Lookups and pages should cost the same for every catalog size. Paged queries start in the middle
+ * of the catalog, so a cost that grows with the position of the page shows up as well.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InMemoryAsteroidRepositoryQueryBenchmark {
+
+    private static final int LOOKUP_KEYS = 1024;
+    private static final int PAGE_SIZE = 100;
+    private static final Set<ResourceType> RESOURCES = EnumSet.of(ResourceType.GOLD, ResourceType.PLATINUM);
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    private InMemoryAsteroidRepository repository;
+    private Map<ResourceType, Integer> prices;
+    private long[] ids;
+    private String[] names;
+    private long middleCursor;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void fillCatalog() {
+        var asteroidFactory = new RandomAsteroidFactory();
+        repository = new InMemoryAsteroidRepository();
+        int sampleCount = repository.findAll().size();
+        for (int i = 0; i < catalogSize; i++) {
+            repository.save(asteroidFactory.createWithName("Benchmark " + i));
+        }
+        prices = new InMemoryMarketRepository().getMarketPrices();
+        middleCursor = sampleCount + catalogSize / 2;
+
+        var random = new SplittableRandom(42);
+        ids = new long[LOOKUP_KEYS];
+        names = new String[LOOKUP_KEYS];
+        for (int i = 0; i < LOOKUP_KEYS; i++) {
+            int index = random.nextInt(catalogSize);
+            ids[i] = sampleCount + index + 1;
+            names[i] = "Benchmark " + index;
+        }
+    }
+
+    private int nextKey() {
+        next = (next + 1) % LOOKUP_KEYS;
+        return next;
+    }
+
+    @Benchmark
+    public Optional<Asteroid> findById() {
+        return repository.findById(ids[nextKey()]);
+    }
+
+    @Benchmark
+    public Optional<Asteroid> findByName() {
+        return repository.findByName(names[nextKey()]);
+    }
+
+    @Benchmark
+    public List<Asteroid> findPage() {
+        return repository.findPage(middleCursor, PAGE_SIZE);
+    }
+
+    /**
+     * About 1% of the asteroids are within this range, so the page is answered from the distance index.
+     */
+    @Benchmark
+    public List<Asteroid> findInRangePage() {
+        return repository.findInRange(1.0, middleCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Asteroid> findWithResourcesPage() {
+        return repository.findWithResources(RESOURCES, middleCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Asteroid> findWorthAtLeastPage() {
+        return repository.findWorthAtLeast(100_000_000, prices, middleCursor, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,60 @@
+package com.spacecorp.asteroidmining.benchmark;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.generator.RandomAsteroidFactory;
+import com.spacecorp.asteroidmining.repository.InMemoryAsteroidRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many asteroids per second the {@link InMemoryAsteroidRepository} can save
+ * depending on the size of the catalog that is already stored.
+ * <p>
+ * The save throughput should be roughly the same for every catalog size, since saving must not copy
+ * the asteroids that are already stored.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InMemoryAsteroidRepositorySaveBenchmark {
+
+    private static final int TEMPLATE_COUNT = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    private final RandomAsteroidFactory asteroidFactory = new RandomAsteroidFactory();
+    private Asteroid[] templates;
+    private InMemoryAsteroidRepository repository;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createTemplates() {
+        templates = new Asteroid[TEMPLATE_COUNT];
+        for (int i = 0; i < TEMPLATE_COUNT; i++) {
+            templates[i] = asteroidFactory.createWithName("Benchmark " + i);
+        }
+    }
+
+    /**
+     * Refills the catalog before every iteration, so each iteration starts at the configured size.
+     */
+    @Setup(Level.Iteration)
+    public void fillCatalog() {
+        repository = new InMemoryAsteroidRepository();
+        for (int i = 0; i < catalogSize; i++) {
+            repository.save(templates[i % TEMPLATE_COUNT]);
+        }
+    }
+
+    @Benchmark
+    public Asteroid save() {
+        next = (next + 1) % TEMPLATE_COUNT;
+        return repository.save(templates[next]);
+    }
+}
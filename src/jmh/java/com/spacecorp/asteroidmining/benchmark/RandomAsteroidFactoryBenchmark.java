@@ -0,0 +1,41 @@
+package com.spacecorp.asteroidmining.benchmark;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.generator.RandomAsteroidFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the local asteroid generation, which every discovery without the LLM goes through,
+ * and the seeded bulk generation of whole catalogs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RandomAsteroidFactoryBenchmark {
+
+    private final RandomAsteroidFactory asteroidFactory = new RandomAsteroidFactory();
+
+    @Benchmark
+    public Asteroid createWithName() {
+        return asteroidFactory.createWithName("Benchmark");
+    }
+
+    /**
+     * Generates a seeded catalog of one million asteroids. Throughput is in catalogs per second.
+     */
+    @Benchmark
+    public long createSeededMillion() {
+        Iterator<Asteroid> asteroids = asteroidFactory.createSeeded(42, 1_000_000);
+        long checksum = 0;
+        while (asteroids.hasNext()) {
+            checksum += asteroids.next().resources().size();
+        }
+        return checksum;
+    }
+}
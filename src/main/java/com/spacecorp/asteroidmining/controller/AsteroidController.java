@@ -1,17 +1,38 @@
 package com.spacecorp.asteroidmining.controller;
 
 import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.AsteroidImport;
+import com.spacecorp.asteroidmining.domain.AsteroidPage;
+import com.spacecorp.asteroidmining.domain.AsteroidStatistics;
+import com.spacecorp.asteroidmining.domain.DiscoveryJob;
 import com.spacecorp.asteroidmining.domain.ResourceType;
+import com.spacecorp.asteroidmining.exception.InvalidRequestException;
 import com.spacecorp.asteroidmining.service.AsteroidDiscoveryService;
 import com.spacecorp.asteroidmining.service.AsteroidService;
+import com.spacecorp.asteroidmining.service.DiscoveryJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * REST Controller acting as the primary entry point for asteroid-related API requests.
@@ -31,6 +52,12 @@ import java.util.List;
  * concrete {@link AsteroidService} class. By avoiding unnecessary interfaces for
  * single-implementation services, we reduce boilerplate code and maintainability overhead.</li>
  * </ul>
+ * <p>
+ * All list endpoints are paginated: they return at most {@code limit} asteroids ordered by id
+ * together with the cursor to pass as {@code after} for the next page.
+ * Clients that accept {@code application/x-ndjson} instead receive the complete result as a stream
+ * with one asteroid per line, which is written to the socket while the asteroids are read.
+ * </p>
  */
 @RestController
 @RequestMapping("/api/v1/asteroids")
@@ -39,17 +66,41 @@ public class AsteroidController {
 
     private final AsteroidService asteroidService;
     private final AsteroidDiscoveryService discoveryService;
+    private final DiscoveryJobService discoveryJobService;
+    private final JsonMapper jsonMapper;
 
     // Constructor Dependency Injection
     // Services handle business logic
-    public AsteroidController(AsteroidService asteroidService, AsteroidDiscoveryService discoveryService) {
+    public AsteroidController(AsteroidService asteroidService, AsteroidDiscoveryService discoveryService,
+                              DiscoveryJobService discoveryJobService, JsonMapper jsonMapper) {
         this.asteroidService = asteroidService;
         this.discoveryService = discoveryService;
+        this.discoveryJobService = discoveryJobService;
+        this.jsonMapper = jsonMapper;
     }
 
     @GetMapping
-    public List<Asteroid> getAllAsteroids() {
-        return asteroidService.getAllAsteroids();
+    public AsteroidPage getAllAsteroids(@RequestParam(required = false) Long after,
+                                        @RequestParam(defaultValue = "100") int limit) {
+        return asteroidService.getAllAsteroids(after, limit);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllAsteroids() {
+        return ndjson(asteroidService::streamAllAsteroids);
+    }
+
+    /**
+     * Aggregates the whole catalog: totals, averages and maxima per resource type,
+     * counts per risk profile and a histogram of the distances.
+     */
+    @Operation(
+            summary = "Get catalog statistics",
+            description = "Returns per-resource totals, averages and maxima, counts per risk profile and a distance histogram."
+    )
+    @GetMapping("/stats")
+    public AsteroidStatistics getStatistics() {
+        return asteroidService.getStatistics();
     }
 
     @GetMapping("/{id}")
@@ -63,18 +114,43 @@ public class AsteroidController {
     }
 
     @GetMapping("/filter/range")
-    public List<Asteroid> getAsteroidsInRange(@RequestParam double range) {
-        return asteroidService.getAsteroidsInRange(range);
+    public AsteroidPage getAsteroidsInRange(@RequestParam double range,
+                                            @RequestParam(required = false) Long after,
+                                            @RequestParam(defaultValue = "100") int limit) {
+        return asteroidService.getAsteroidsInRange(range, after, limit);
     }
 
+    @GetMapping(value = "/filter/range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAsteroidsInRange(@RequestParam double range) {
+        return ndjson(() -> asteroidService.streamAsteroidsInRange(range));
+    }
+
+    /**
+     * Filters asteroids by their resources. Several resources can be requested
+     * (e.g. {@code ?resource=GOLD&resource=IRON}); only asteroids containing all of them are returned.
+     */
     @GetMapping("/filter/resource")
-    public List<Asteroid> getAsteroidsWithResource(@RequestParam ResourceType resource) {
-        return asteroidService.getAsteroidsWithResource(resource);
+    public AsteroidPage getAsteroidsWithResources(@RequestParam Set<ResourceType> resource,
+                                                  @RequestParam(required = false) Long after,
+                                                  @RequestParam(defaultValue = "100") int limit) {
+        return asteroidService.getAsteroidsWithResources(resource, after, limit);
+    }
+
+    @GetMapping(value = "/filter/resource", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAsteroidsWithResources(@RequestParam Set<ResourceType> resource) {
+        return ndjson(() -> asteroidService.streamAsteroidsWithResources(resource));
     }
 
     @GetMapping("/filter/profitable")
-    public List<Asteroid> getProfitableAsteroids(@RequestParam int minValue) {
-        return asteroidService.getProfitableAsteroids(minValue);
+    public AsteroidPage getProfitableAsteroids(@RequestParam int minValue,
+                                               @RequestParam(required = false) Long after,
+                                               @RequestParam(defaultValue = "100") int limit) {
+        return asteroidService.getProfitableAsteroids(minValue, after, limit);
+    }
+
+    @GetMapping(value = "/filter/profitable", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProfitableAsteroids(@RequestParam int minValue) {
+        return ndjson(() -> asteroidService.streamProfitableAsteroids(minValue));
     }
 
     /**
@@ -95,4 +171,165 @@ public class AsteroidController {
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.noContent().build());
     }
+
+    /**
+     * Starts a deep-space scan in the background, so the request does not wait for the asteroid generation.
+     * @return 202 with the pending job and its location to poll.
+     */
+    @Operation(
+            summary = "Discover a new asteroid asynchronously",
+            description = "Starts a probability-based scan in the background. Poll the returned job for the result."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Discovery job accepted"),
+            @ApiResponse(responseCode = "429", description = "Too many discovery jobs in progress")
+    })
+    @PostMapping("/discover/jobs")
+    public ResponseEntity<DiscoveryJob> submitDiscoveryJob() {
+        DiscoveryJob job = discoveryJobService.submit();
+        var location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @Operation(
+            summary = "Get a discovery job",
+            description = "Returns the state of the job and, once it is completed, the discovered asteroid."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found"),
+            @ApiResponse(responseCode = "404", description = "Job unknown or expired")
+    })
+    @GetMapping("/discover/jobs/{id}")
+    public DiscoveryJob getDiscoveryJob(@PathVariable UUID id) {
+        return discoveryJobService.getJob(id);
+    }
+
+    /**
+     * Triggers several deep-space scans at once and saves all discovered asteroids as one batch.
+     * @return 200 with the discovered asteroids, which may be fewer than the requested scans.
+     */
+    @Operation(
+            summary = "Discover new asteroids in a batch",
+            description = "Triggers 'count' probability-based scans. Returns all asteroids that were discovered."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Scans completed"),
+            @ApiResponse(responseCode = "400", description = "The count is out of the allowed range")
+    })
+    @PostMapping("/discover/batch")
+    public List<Asteroid> discoverNewAsteroids(@RequestParam int count) {
+        return discoveryService.discoverNewAsteroids(count);
+    }
+
+    /**
+     * Downloads the whole catalog as newline-delimited JSON, the format expected by the import.
+     */
+    @Operation(
+            summary = "Export the asteroid catalog",
+            description = "Streams all asteroids as NDJSON with one asteroid per line, ordered by id."
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAsteroids() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("asteroids.ndjson").build().toString())
+                .body(ndjsonBody(asteroidService::streamAllAsteroids));
+    }
+
+    /**
+     * Imports a catalog in the format of the export. The request body is read while the asteroids are saved,
+     * so catalogs of any size can be imported. The asteroids get new ids.
+     * If a line is invalid, the chunks read before it stay imported and the error message contains their number.
+     * @return 200 with the number of imported asteroids.
+     */
+    @Operation(
+            summary = "Import an asteroid catalog",
+            description = "Saves all asteroids of an NDJSON body with one asteroid per line. Ids in the body are ignored."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catalog imported"),
+            @ApiResponse(responseCode = "400", description = "The body is not valid NDJSON, the message contains the number of asteroids imported before")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public AsteroidImport importAsteroids(InputStream body) {
+        try (MappingIterator<Asteroid> asteroids = jsonMapper.readerFor(Asteroid.class).readValues(body)) {
+            return new AsteroidImport(asteroidService.importAsteroids(ndjsonLines(asteroids)));
+        } catch (JacksonException e) {
+            throw invalidNdjson(e);
+        }
+    }
+
+    /**
+     * Adds a reproducible catalog of random asteroids for load tests and simulations.
+     */
+    @Operation(
+            summary = "Seed the asteroid catalog",
+            description = "Generates 'count' random asteroids from the seed and saves them. The same seed always yields the same asteroids."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Asteroids generated and saved"),
+            @ApiResponse(responseCode = "400", description = "The count is out of the allowed range")
+    })
+    @PostMapping("/seed")
+    public AsteroidImport seedAsteroids(@RequestParam long seed, @RequestParam long count) {
+        return new AsteroidImport(asteroidService.seedAsteroids(seed, count));
+    }
+
+    /**
+     * Reports invalid lines as {@link InvalidRequestException}s while the service reads the asteroids,
+     * so it can tell them apart from failures of the repository.
+     */
+    private static Iterator<Asteroid> ndjsonLines(MappingIterator<Asteroid> asteroids) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return asteroids.hasNextValue();
+                } catch (JacksonException e) {
+                    throw invalidNdjson(e);
+                }
+            }
+
+            @Override
+            public Asteroid next() {
+                try {
+                    return asteroids.nextValue();
+                } catch (JacksonException e) {
+                    throw invalidNdjson(e);
+                }
+            }
+        };
+    }
+
+    private static InvalidRequestException invalidNdjson(JacksonException e) {
+        return new InvalidRequestException("The catalog is not valid NDJSON: " + e.getOriginalMessage() + ".", e);
+    }
+
+    /**
+     * Writes the asteroids as newline-delimited JSON while they are read from the stream,
+     * so only the asteroid currently being written is held in memory.
+     * The stream is opened and closed on the thread that writes the response.
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(Supplier<Stream<Asteroid>> asteroids) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonBody(asteroids));
+    }
+
+    private StreamingResponseBody ndjsonBody(Supplier<Stream<Asteroid>> asteroids) {
+        ObjectWriter writer = jsonMapper.writerFor(Asteroid.class);
+        return outputStream -> {
+            try (Stream<Asteroid> stream = asteroids.get()) {
+                Iterator<Asteroid> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(writer.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                }
+            }
+        };
+    }
 }
@@ -0,0 +1,81 @@
+package com.spacecorp.asteroidmining.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits the database traffic of the {@code postgres} profile between the primary database and a read replica.
+ * <p>
+ * The application data source hands out lazy connections, which are only fetched from a pool when the first
+ * statement is executed. Connections that were marked read-only until then, e.g. by
+ * {@code @Transactional(readOnly = true)}, are taken from the replica pool, all others from the primary pool.
+ * Reads fall back to the primary while the {@link ReplicaLagMonitor} finds the replica unreachable or lagging
+ * more than {@code asteroid.datasource.replica.max-lag}.
+ * </p>
+ * <p>
+ * Reads are not routed by what the client wrote before, so a read may not see a write that was just committed
+ * on the primary for up to the maximum lag, e.g. {@code GET /asteroids/{id}} right after {@code POST /discover}
+ * can answer 404. Writes return the saved asteroids, so clients do not need to read them again.
+ * </p>
+ * <p>
+ * The replica uses the credentials of {@code spring.datasource}. Its pool is configured with
+ * {@code asteroid.datasource.replica.hikari.*}, the primary pool as usual with {@code spring.datasource.hikari.*}.
+ * </p>
+ * <p>This configuration is only loaded if the property {@code asteroid.datasource.replica.url} is set.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("postgres")
+@ConditionalOnProperty(name = "asteroid.datasource.replica.url")
+public class ReplicaDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("asteroid.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${asteroid.datasource.replica.url}") String url) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${asteroid.datasource.replica.max-lag:5s}") Duration maxLag,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replica, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor));
+        return dataSource;
+    }
+}
@@ -0,0 +1,91 @@
+package com.spacecorp.asteroidmining.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Periodically measures how far the read replica lags behind the primary database.
+ * <p>
+ * The replica is only used while it is reachable and its replication lag does not exceed the configured maximum.
+ * Until the first successful check, and whenever a check fails, all reads go to the primary.
+ * The last measured lag is published as the gauge {@code asteroid.datasource.replica.lag} in seconds.
+ * </p>
+ * <p>
+ * The lag is zero while the replica has replayed all WAL it received. Otherwise it is the time since the last
+ * replayed transaction was committed on the primary. A replica whose WAL receiver is not streaming has received
+ * nothing new either, so it counts as infinitely lagging until it is connected to the primary again. Reading the
+ * receiver status requires the {@code pg_read_all_stats} role (e.g. through {@code pg_monitor}).
+ * A server that is not in recovery has no lag, so a second independent database can stand in for a replica
+ * in local tests.
+ * </p>
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String REPLICATION_LAG_SECONDS = """
+        SELECT CASE
+            WHEN NOT pg_is_in_recovery() THEN 0
+            WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 'Infinity'
+            WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+            ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 'Infinity')
+        END
+        """;
+
+    private final JdbcTemplate replica;
+    private final double maxLagSeconds;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean replicaUsable;
+
+    /**
+     * @param replica the connection pool of the replica.
+     * @param maxLag  the maximum replication lag at which reads are still sent to the replica.
+     */
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout((int) Math.max(1, maxLag.toSeconds()));
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        Gauge.builder("asteroid.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the read replica, NaN if it is unreachable")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code true} if reads may be sent to the replica, {@code false} if they must go to the primary.
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${asteroid.datasource.replica.lag-check-interval:1s}")
+    public void checkLag() {
+        double lag;
+        try {
+            Double measuredLag = replica.queryForObject(REPLICATION_LAG_SECONDS, Double.class);
+            lag = measuredLag == null ? Double.POSITIVE_INFINITY : measuredLag;
+        } catch (RuntimeException e) {
+            log.debug("Replica lag check failed", e);
+            lag = Double.NaN;
+        }
+        lagSeconds = lag;
+
+        boolean usable = lag <= maxLagSeconds;
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Sending reads to the replica (lag {} s)", lag);
+            } else {
+                log.warn("Sending reads to the primary, the replica is {}", Double.isNaN(lag) ? "unreachable"
+                        : Double.isInfinite(lag) ? "not streaming from the primary" : "lagging " + lag + " s behind");
+            }
+        }
+        replicaUsable = usable;
+    }
+}
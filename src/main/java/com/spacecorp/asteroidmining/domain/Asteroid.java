@@ -8,7 +8,9 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.MappedCollection;
 import org.springframework.data.relational.core.mapping.Table;
+import com.spacecorp.asteroidmining.generator.UniqueNameAsteroidGenerator;
 import com.spacecorp.asteroidmining.repository.InMemoryAsteroidRepository;
+import com.spacecorp.asteroidmining.service.SectorSweepEngine;
 
 import java.util.Map;
 
@@ -55,6 +57,51 @@ public record Asteroid(
                 .build();
     }
 
+    /**
+     * Creates a copy of this asteroid with a new name.
+     * Used by the {@link UniqueNameAsteroidGenerator} if no unique name could be generated.
+     */
+    public Asteroid withName(String name) {
+        return Asteroid.builder()
+                .id(this.id)
+                .name(name)
+                .riskProfile(this.riskProfile)
+                .distanceInLightYears(this.distanceInLightYears)
+                .resources(this.resources)
+                .build();
+    }
+
+    /**
+     * Creates a copy of this asteroid at another distance.
+     * Used by the {@link SectorSweepEngine} to place discoveries in the scanned sector.
+     */
+    public Asteroid withDistance(double distanceInLightYears) {
+        return Asteroid.builder()
+                .id(this.id)
+                .name(this.name)
+                .riskProfile(this.riskProfile)
+                .distanceInLightYears(distanceInLightYears)
+                .resources(this.resources)
+                .build();
+    }
+
+    /**
+     * Calculates the total market value of all resources on this asteroid.
+     *
+     * @param prices the price per unit of each resource type. Resources without a price are worth nothing.
+     * @return the sum of amount &times; price over all resources.
+     */
+    public long totalValue(Map<ResourceType, Integer> prices) {
+        if (resources == null) {
+            return 0;
+        }
+        long totalValue = 0;
+        for (var entry : resources.entrySet()) {
+            totalValue += (long) prices.getOrDefault(entry.getKey(), 0) * entry.getValue().amount();
+        }
+        return totalValue;
+    }
+
     /**
      * Wrapper for the resource amount to force Spring Data JDBC to use
      * the 'asteroid_resource' join table.
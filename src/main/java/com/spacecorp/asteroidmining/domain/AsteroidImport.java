@@ -0,0 +1,9 @@
+package com.spacecorp.asteroidmining.domain;
+
+/**
+ * Result of a catalog import.
+ *
+ * @param importedAsteroids the number of asteroids that were saved with new ids.
+ */
+public record AsteroidImport(long importedAsteroids) {
+}
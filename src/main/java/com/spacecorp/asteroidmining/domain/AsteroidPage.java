@@ -0,0 +1,16 @@
+package com.spacecorp.asteroidmining.domain;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated asteroid query.
+ * <p>
+ * The next page is requested by passing {@code nextCursor} as the {@code after} parameter.
+ * A cursor is the id of the last asteroid of the page, so pages stay stable while new asteroids are discovered.
+ * </p>
+ *
+ * @param asteroids  the asteroids of this page, ordered by id.
+ * @param nextCursor the cursor of the next page, or {@code null} if this is the last page.
+ */
+public record AsteroidPage(List<Asteroid> asteroids, Long nextCursor) {
+}
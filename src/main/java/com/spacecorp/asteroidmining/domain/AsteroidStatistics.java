@@ -0,0 +1,69 @@
+package com.spacecorp.asteroidmining.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated statistics of the whole asteroid catalog.
+ *
+ * @param asteroidCount     the number of asteroids in the catalog.
+ * @param resources         statistics of the asteroids containing each resource type.
+ * @param riskProfiles      the number of asteroids per risk profile.
+ * @param distanceHistogram the number of asteroids per distance interval of {@value #DISTANCE_BUCKET_WIDTH} light years,
+ *                          in ascending order. The last interval is open-ended.
+ */
+public record AsteroidStatistics(
+        long asteroidCount,
+        Map<ResourceType, ResourceStatistics> resources,
+        Map<RiskProfile, Long> riskProfiles,
+        List<DistanceBucket> distanceHistogram
+) {
+    public static final double DISTANCE_BUCKET_WIDTH = 10;
+    /**
+     * Ten intervals cover the distances of generated asteroids, the last one collects all farther asteroids.
+     */
+    public static final int DISTANCE_BUCKET_COUNT = 11;
+
+    /**
+     * @return the index of the histogram interval containing the distance. Negative distances count to the first interval.
+     */
+    public static int distanceBucket(double distanceInLightYears) {
+        return (int) Math.clamp(Math.floor(distanceInLightYears / DISTANCE_BUCKET_WIDTH), 0, DISTANCE_BUCKET_COUNT - 1);
+    }
+
+    /**
+     * @param counts the number of asteroids per interval, indexed by {@link #distanceBucket(double)}.
+     * @return the histogram with the bounds of every interval.
+     */
+    public static List<DistanceBucket> distanceHistogram(long[] counts) {
+        List<DistanceBucket> histogram = new ArrayList<>(DISTANCE_BUCKET_COUNT);
+        for (int bucket = 0; bucket < DISTANCE_BUCKET_COUNT; bucket++) {
+            Double to = bucket == DISTANCE_BUCKET_COUNT - 1 ? null : (bucket + 1) * DISTANCE_BUCKET_WIDTH;
+            histogram.add(new DistanceBucket(bucket * DISTANCE_BUCKET_WIDTH, to, counts[bucket]));
+        }
+        return histogram;
+    }
+
+    /**
+     * @param asteroidCount the number of asteroids containing the resource.
+     * @param totalAmount   the summed amount over these asteroids.
+     * @param averageAmount the average amount per asteroid containing the resource.
+     * @param maxAmount     the largest amount on a single asteroid.
+     */
+    public record ResourceStatistics(long asteroidCount, long totalAmount, double averageAmount, long maxAmount) {
+
+        public static ResourceStatistics of(long asteroidCount, long totalAmount, long maxAmount) {
+            double average = asteroidCount == 0 ? 0 : (double) totalAmount / asteroidCount;
+            return new ResourceStatistics(asteroidCount, totalAmount, average, asteroidCount == 0 ? 0 : maxAmount);
+        }
+    }
+
+    /**
+     * @param fromLightYears the inclusive lower bound of the interval.
+     * @param toLightYears   the exclusive upper bound of the interval, or {@code null} for the last interval.
+     * @param asteroidCount  the number of asteroids in the interval.
+     */
+    public record DistanceBucket(double fromLightYears, Double toLightYears, long asteroidCount) {
+    }
+}
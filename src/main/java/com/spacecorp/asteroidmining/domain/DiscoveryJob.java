@@ -0,0 +1,64 @@
+package com.spacecorp.asteroidmining.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * State of an asynchronous discovery, which performs a single deep-space scan in the background.
+ *
+ * @param id          the id to poll the job with.
+ * @param status      the current state of the job.
+ * @param asteroid    the discovered and saved asteroid, if the status is {@link Status#FOUND}.
+ * @param error       the reason of the failure, if the status is {@link Status#FAILED}.
+ * @param submittedAt the time the job was accepted.
+ * @param completedAt the time the job finished, or {@code null} while it is pending or running.
+ */
+public record DiscoveryJob(
+        UUID id,
+        Status status,
+        Asteroid asteroid,
+        String error,
+        Instant submittedAt,
+        Instant completedAt
+) {
+    public enum Status {
+        /**
+         * Waiting for a free discovery slot.
+         */
+        PENDING,
+        RUNNING,
+        /**
+         * The scan discovered an asteroid, which has been saved.
+         */
+        FOUND,
+        /**
+         * The scan completed, but no asteroid was found.
+         */
+        NOT_FOUND,
+        FAILED
+    }
+
+    public static DiscoveryJob submitted(UUID id) {
+        return new DiscoveryJob(id, Status.PENDING, null, null, Instant.now(), null);
+    }
+
+    public DiscoveryJob running() {
+        return new DiscoveryJob(id, Status.RUNNING, null, null, submittedAt, null);
+    }
+
+    public DiscoveryJob completed(Asteroid discoveredAsteroid) {
+        Status result = discoveredAsteroid == null ? Status.NOT_FOUND : Status.FOUND;
+        return new DiscoveryJob(id, result, discoveredAsteroid, null, submittedAt, Instant.now());
+    }
+
+    public DiscoveryJob failed(String reason) {
+        return new DiscoveryJob(id, Status.FAILED, null, reason, submittedAt, Instant.now());
+    }
+
+    @JsonIgnore
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+}
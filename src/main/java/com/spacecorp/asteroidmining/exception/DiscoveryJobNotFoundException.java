@@ -0,0 +1,10 @@
+package com.spacecorp.asteroidmining.exception;
+
+/**
+ * Exception thrown when a requested discovery job is unknown or has already expired.
+ */
+public class DiscoveryJobNotFoundException extends RuntimeException {
+    public DiscoveryJobNotFoundException(String message) {
+        super(message);
+    }
+}
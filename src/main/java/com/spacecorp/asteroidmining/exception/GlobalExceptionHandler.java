@@ -93,6 +93,44 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
+    /**
+     * Handles polls of discovery jobs that are unknown or expired.
+     *
+     * @param ex the caught {@link DiscoveryJobNotFoundException}.
+     * @return a {@link ResponseEntity} with status 404 and a specific message.
+     */
+    @ExceptionHandler(DiscoveryJobNotFoundException.class)
+    public ResponseEntity<Object> handleDiscoveryJobNotFound(DiscoveryJobNotFoundException ex) {
+        logger.info("Discovery job not found: {}", ex.getMessage());
+        return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    /**
+     * Handles discovery jobs submitted while the maximum number of jobs is in progress.
+     *
+     * @param ex the caught {@link TooManyDiscoveryJobsException}.
+     * @return a {@link ResponseEntity} with status 429 and a specific message.
+     */
+    @ExceptionHandler(TooManyDiscoveryJobsException.class)
+    public ResponseEntity<Object> handleTooManyDiscoveryJobs(TooManyDiscoveryJobsException ex) {
+        logger.warn("Discovery job rejected: {}", ex.getMessage());
+        return buildResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+    }
+
+    /**
+     * Handles requests with invalid arguments, e.g. a batch size outside the allowed range.
+     * Other {@link IllegalArgumentException}s are internal errors and are handled as unexpected exceptions,
+     * so their messages do not reach the client.
+     *
+     * @param ex the caught {@link InvalidRequestException}.
+     * @return a {@link ResponseEntity} with status 400 and a specific message.
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Object> handleInvalidRequest(InvalidRequestException ex) {
+        logger.info("Invalid request: {}", ex.getMessage());
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
     /**
      * Handles errors occurring while asteroid discovery. This can happen when AI generation of asteroids fail.
      *
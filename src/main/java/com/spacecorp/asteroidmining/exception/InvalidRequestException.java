@@ -0,0 +1,15 @@
+package com.spacecorp.asteroidmining.exception;
+
+/**
+ * Exception thrown when the parameters or the body of a request are invalid, e.g. a count out of the allowed range.
+ * Its message is returned to the client, so it must only describe the request.
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
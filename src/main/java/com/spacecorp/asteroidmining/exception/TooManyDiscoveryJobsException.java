@@ -0,0 +1,10 @@
+package com.spacecorp.asteroidmining.exception;
+
+/**
+ * Exception thrown when a discovery job is submitted while the maximum number of jobs is still in progress.
+ */
+public class TooManyDiscoveryJobsException extends RuntimeException {
+    public TooManyDiscoveryJobsException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,8 @@ package com.spacecorp.asteroidmining.generator;
 import com.spacecorp.asteroidmining.domain.Asteroid;
 import com.spacecorp.asteroidmining.domain.ResourceType;
 import com.spacecorp.asteroidmining.exception.AiGenerationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
@@ -27,8 +29,10 @@ public class AiAsteroidGenerator implements AsteroidGenerator {
 
     private final ChatClient chatClient;
     private final BeanOutputConverter<Asteroid> beanOutputConverter;
+    private final Counter communicationFailures;
+    private final Counter invalidOutputs;
 
-    public AiAsteroidGenerator(ChatClient.Builder chatBuilder) {
+    public AiAsteroidGenerator(ChatClient.Builder chatBuilder, MeterRegistry meterRegistry) {
         // Configuring the AI with a system prompt to define its persona and a frame for the expected output.
         this.chatClient = chatBuilder
                 .defaultSystem("""
@@ -44,6 +48,8 @@ public class AiAsteroidGenerator implements AsteroidGenerator {
                 .build();
         this.beanOutputConverter = new BeanOutputConverter<>(Asteroid.class);
         log.debug("JSON schema for ai: {}", beanOutputConverter.getJsonSchema());
+        this.communicationFailures = failureCounter(meterRegistry, "communication");
+        this.invalidOutputs = failureCounter(meterRegistry, "invalid-output");
     }
 
     /**
@@ -76,10 +82,22 @@ public class AiAsteroidGenerator implements AsteroidGenerator {
             return beanOutputConverter.convert(rawJson);
 
         } catch (NonTransientAiException e) {
+            communicationFailures.increment();
             throw new AiGenerationException("AI Service communication failed", e);
         } catch (Exception e) {
             log.error("AI delivered invalid JSON: {}", rawJson);
+            invalidOutputs.increment();
             throw new AiGenerationException("AI output was invalid", e);
         }
     }
+
+    /**
+     * Counts the {@link AiGenerationException}s as {@code asteroid.generator.ai.failures}, tagged with their cause.
+     */
+    private static Counter failureCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("asteroid.generator.ai.failures")
+                .description("AI generations that failed with an AiGenerationException")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
 }
@@ -2,10 +2,22 @@ package com.spacecorp.asteroidmining.generator;
 
 import com.spacecorp.asteroidmining.domain.Asteroid;
 
+import java.util.List;
+
 public interface AsteroidGenerator {
     /**
      * Generates a new {@link Asteroid} with randomized attributes.
      * @return a fully populated, immutable Asteroid object.
      */
     Asteroid generate();
+
+    /**
+     * Informs the generator about asteroids that were added to the catalog, whether it generated them or they were
+     * imported, so it can avoid repeating their names. Generated asteroids that could not be saved are passed as well,
+     * since they may have been saved in part. The default implementation does nothing.
+     *
+     * @param asteroids the asteroids added to the catalog.
+     */
+    default void onSaved(List<Asteroid> asteroids) {
+    }
 }
@@ -0,0 +1,52 @@
+package com.spacecorp.asteroidmining.generator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decorates the active {@link AsteroidGenerator} with a {@link BufferedAsteroidGenerator},
+ * so discoveries take pre-generated asteroids instead of waiting for the AI.
+ * <p>
+ * The decorator replaces the generator bean, so Spring only closes the decorator, which closes the decorated
+ * generator in turn (e.g. the {@link FallbackAsteroidGenerator} with its running tier calls).
+ * </p>
+ * <p>This component is only loaded if {@code asteroid.generator.mode} is not {@code local},
+ * since the procedural generator needs no buffer, and {@code asteroid.generator.buffer.enabled}
+ * is not set to {@code false}.</p>
+ */
+@Component
+@ConditionalOnExpression("${asteroid.generator.buffer.enabled:true} and '${asteroid.generator.mode:local}' != 'local'")
+public class AsteroidGeneratorBufferPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int capacity;
+    private final int lowWaterMark;
+    private final int refillConcurrency;
+
+    /**
+     * @param meterRegistry resolved lazily, since post-processors are created before the other beans.
+     */
+    public AsteroidGeneratorBufferPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${asteroid.generator.buffer.capacity:50}") int capacity,
+            @Value("${asteroid.generator.buffer.low-water-mark:10}") int lowWaterMark,
+            @Value("${asteroid.generator.buffer.refill-concurrency:2}") int refillConcurrency) {
+        this.meterRegistry = meterRegistry;
+        this.capacity = capacity;
+        this.lowWaterMark = lowWaterMark;
+        this.refillConcurrency = refillConcurrency;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof AsteroidGenerator generator) || bean instanceof BufferedAsteroidGenerator) {
+            return bean;
+        }
+        return new BufferedAsteroidGenerator(generator, capacity, lowWaterMark, refillConcurrency,
+                meterRegistry.getObject());
+    }
+}
@@ -0,0 +1,76 @@
+package com.spacecorp.asteroidmining.generator;
+
+import com.spacecorp.asteroidmining.repository.AsteroidRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decorates the active {@link AsteroidGenerator} with a {@link UniqueNameAsteroidGenerator},
+ * so discovered asteroids do not repeat the names of the catalog.
+ * <p>
+ * This post-processor is ordered, so it runs before the {@link AsteroidGeneratorBufferPostProcessor}
+ * and the buffer holds asteroids whose names were already checked. The name filters are populated once all
+ * singletons are created, so loading the names does not compete with the startup for the repository.
+ * </p>
+ * <p>This component is only loaded if the property {@code asteroid.generator.unique-names.enabled}
+ * is not set to {@code false}.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "asteroid.generator.unique-names.enabled", havingValue = "true", matchIfMissing = true)
+public class AsteroidGeneratorUniqueNamePostProcessor implements BeanPostProcessor, SmartInitializingSingleton, Ordered {
+
+    private final ObjectProvider<AsteroidRepository> repository;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long expectedNames;
+    private final double falsePositiveRate;
+    private final int maxAttempts;
+    private final List<UniqueNameAsteroidGenerator> generators = new ArrayList<>();
+
+    /**
+     * @param repository    resolved lazily like the registry, so the repository is still processed
+     *                      by all post-processors.
+     * @param meterRegistry resolved lazily, since post-processors are created before the other beans.
+     */
+    public AsteroidGeneratorUniqueNamePostProcessor(
+            ObjectProvider<AsteroidRepository> repository,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${asteroid.generator.unique-names.expected-names:10000000}") long expectedNames,
+            @Value("${asteroid.generator.unique-names.false-positive-rate:0.03}") double falsePositiveRate,
+            @Value("${asteroid.generator.unique-names.max-attempts:5}") int maxAttempts) {
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+        this.expectedNames = expectedNames;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof AsteroidGenerator generator) || bean instanceof UniqueNameAsteroidGenerator) {
+            return bean;
+        }
+        var uniqueNameGenerator = new UniqueNameAsteroidGenerator(generator, repository.getObject(), expectedNames,
+                falsePositiveRate, maxAttempts, meterRegistry.getObject());
+        generators.add(uniqueNameGenerator);
+        return uniqueNameGenerator;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        generators.forEach(UniqueNameAsteroidGenerator::startPopulating);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,192 @@
+package com.spacecorp.asteroidmining.generator;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decorator that serves asteroids from a bounded buffer, which background workers fill with the decorated generator.
+ * <p>
+ * A slow generator (e.g. one waiting for an LLM) then no longer delays the discovery requests. Once the buffer
+ * drops to its low-water mark, the workers refill it up to its capacity. Only if the buffer is empty,
+ * an asteroid is generated live on the calling thread, so failures of the decorated generator still reach
+ * the caller in that case.
+ * </p>
+ * <p>
+ * A worker whose generation fails waits before it tries again, doubling the wait up to one minute
+ * while the failures continue, so an unavailable AI service is not flooded with requests.
+ * </p>
+ * <p>
+ * The buffer keeps whatever the decorated generator returned. In the {@code resilient} mode, the workers fill it
+ * with local fallback asteroids while the AI is unavailable, and these are still served first after the AI
+ * recovered, up to the capacity of the buffer.
+ * </p>
+ *
+ * @see AsteroidGeneratorBufferPostProcessor
+ */
+public class BufferedAsteroidGenerator implements AsteroidGenerator, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(BufferedAsteroidGenerator.class);
+
+    private static final Duration MIN_RETRY_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final AsteroidGenerator delegate;
+    private final BlockingQueue<Asteroid> buffer;
+    private final int lowWaterMark;
+    private final ExecutorService workers;
+    /**
+     * Guards {@link #refilling}. The workers wait on {@link #refillNeeded} while the buffer is filled enough.
+     */
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private final Condition refillNeeded = refillLock.newCondition();
+    private boolean refilling = true;
+    private final Counter bufferHits;
+    private final Counter bufferMisses;
+
+    /**
+     * Starts the workers, which fill the buffer right away.
+     *
+     * @param delegate          the generator producing the buffered asteroids.
+     * @param capacity          the maximum number of buffered asteroids.
+     * @param lowWaterMark      the number of buffered asteroids at or below which the workers refill the buffer.
+     * @param refillConcurrency the number of workers calling the decorated generator in parallel.
+     * @param meterRegistry     publishes the buffer size as {@code asteroid.generator.buffer.size} and counts the taken
+     *                          asteroids as {@code asteroid.generator.buffer.takes}, tagged with the result {@code hit}
+     *                          or {@code miss}.
+     */
+    public BufferedAsteroidGenerator(AsteroidGenerator delegate, int capacity, int lowWaterMark, int refillConcurrency,
+                                     MeterRegistry meterRegistry) {
+        if (capacity < 1 || lowWaterMark < 0 || lowWaterMark >= capacity || refillConcurrency < 1) {
+            throw new IllegalArgumentException("The buffer needs a capacity of at least 1, a low-water mark below "
+                    + "the capacity and at least one refill worker.");
+        }
+        this.delegate = delegate;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.lowWaterMark = lowWaterMark;
+        this.bufferHits = takeCounter(meterRegistry, "hit");
+        this.bufferMisses = takeCounter(meterRegistry, "miss");
+        Gauge.builder("asteroid.generator.buffer.size", buffer, BlockingQueue::size)
+                .description("Pre-generated asteroids waiting to be discovered")
+                .register(meterRegistry);
+
+        this.workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("asteroid-buffer-", 0).factory());
+        for (int i = 0; i < refillConcurrency; i++) {
+            workers.execute(this::refill);
+        }
+    }
+
+    /**
+     * Takes a pre-generated asteroid, or generates one live if the buffer is empty.
+     *
+     * @return a fully populated {@link Asteroid} instance.
+     */
+    @Override
+    public Asteroid generate() {
+        Asteroid asteroid = buffer.poll();
+        if (buffer.size() <= lowWaterMark) {
+            startRefill();
+        }
+        if (asteroid != null) {
+            bufferHits.increment();
+            return asteroid;
+        }
+        bufferMisses.increment();
+        return delegate.generate();
+    }
+
+    @Override
+    public void onSaved(List<Asteroid> asteroids) {
+        delegate.onSaved(asteroids);
+    }
+
+    /**
+     * Stops the workers and closes the decorated generator if it is closeable.
+     * Asteroids still being generated are discarded.
+     */
+    @Override
+    public void close() throws Exception {
+        workers.shutdownNow();
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void refill() {
+        Duration retryDelay = MIN_RETRY_DELAY;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                awaitRefill();
+                Asteroid asteroid;
+                try {
+                    asteroid = delegate.generate();
+                    retryDelay = MIN_RETRY_DELAY;
+                } catch (RuntimeException e) {
+                    log.warn("Pre-generating an asteroid failed, retrying in {}", retryDelay, e);
+                    Thread.sleep(retryDelay);
+                    retryDelay = retryDelay.compareTo(MAX_RETRY_DELAY.dividedBy(2)) < 0
+                            ? retryDelay.multipliedBy(2) : MAX_RETRY_DELAY;
+                    continue;
+                }
+                // Blocks if the other workers filled the buffer meanwhile, so no generated asteroid is dropped.
+                buffer.put(asteroid);
+                if (buffer.remainingCapacity() == 0) {
+                    stopRefill();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitRefill() throws InterruptedException {
+        refillLock.lock();
+        try {
+            while (!refilling) {
+                refillNeeded.await();
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private void startRefill() {
+        refillLock.lock();
+        try {
+            if (!refilling) {
+                refilling = true;
+                refillNeeded.signalAll();
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private void stopRefill() {
+        refillLock.lock();
+        try {
+            // A take may have dropped the buffer to the low-water mark since the last put.
+            refilling = buffer.size() <= lowWaterMark;
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private static Counter takeCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("asteroid.generator.buffer.takes")
+                .description("Generated asteroids by whether they were taken from the buffer")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,139 @@
+package com.spacecorp.asteroidmining.generator;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.exception.AiGenerationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Composite {@link AsteroidGenerator} that tries a chain of generators and falls back to the next one
+ * if a generator fails, exceeds its latency budget or its circuit breaker is open.
+ * <p>
+ * Every tier is called on a virtual thread and abandoned once its latency budget has passed, so a slow AI service
+ * delays a generation by at most the summed budgets. Timeouts and failures count towards the tier's
+ * {@link CircuitBreaker}, which skips the tier while it keeps failing. The last resort generator is called directly
+ * without budget and breaker, so it must neither block nor fail (e.g. the {@link LocalAsteroidGenerator}).
+ * </p>
+ *
+ * @see ResilientGeneratorConfiguration
+ */
+public class FallbackAsteroidGenerator implements AsteroidGenerator, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(FallbackAsteroidGenerator.class);
+
+    /**
+     * @param name          identifies the tier in the metrics and logs.
+     * @param generator     the generator of the tier.
+     * @param latencyBudget the maximum time to wait for the generator.
+     */
+    public record Tier(String name, AsteroidGenerator generator, Duration latencyBudget) {
+    }
+
+    private final List<GuardedTier> tiers;
+    private final AsteroidGenerator lastResort;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("asteroid-generator-tier-", 0).factory());
+
+    /**
+     * @param tiers            the generators to try in order.
+     * @param lastResort       the generator used if all tiers failed.
+     * @param failureThreshold the number of consecutive failures opening the circuit breaker of a tier.
+     * @param openDuration     how long an open circuit breaker skips its tier.
+     * @param meterRegistry    publishes the state of each breaker as {@code asteroid.generator.circuit.state}
+     *                         (1 for the current state, tagged with tier and state) and counts the fallbacks as
+     *                         {@code asteroid.generator.fallbacks}, tagged with the tier and the reason
+     *                         {@code failure}, {@code timeout} or {@code circuit-open}.
+     */
+    public FallbackAsteroidGenerator(List<Tier> tiers, AsteroidGenerator lastResort, int failureThreshold,
+                                     Duration openDuration, MeterRegistry meterRegistry) {
+        this.tiers = tiers.stream()
+                .map(tier -> new GuardedTier(tier, new CircuitBreaker(failureThreshold, openDuration), meterRegistry))
+                .toList();
+        this.lastResort = lastResort;
+    }
+
+    /**
+     * Generates an asteroid with the first tier that succeeds within its budget, or with the last resort generator.
+     * @return a fully populated {@link Asteroid} instance.
+     * @throws AiGenerationException if the calling thread is interrupted while waiting for a tier.
+     */
+    @Override
+    public Asteroid generate() {
+        for (GuardedTier tier : tiers) {
+            if (!tier.breaker.tryAcquire()) {
+                tier.circuitOpen.increment();
+                continue;
+            }
+            Future<Asteroid> asteroid = executor.submit(tier.tier.generator()::generate);
+            try {
+                Asteroid generated = asteroid.get(tier.tier.latencyBudget().toNanos(), TimeUnit.NANOSECONDS);
+                tier.breaker.onSuccess();
+                return generated;
+            } catch (TimeoutException e) {
+                asteroid.cancel(true);
+                tier.breaker.onFailure();
+                tier.timeouts.increment();
+                log.debug("Generator tier '{}' exceeded its budget of {}", tier.tier.name(), tier.tier.latencyBudget());
+            } catch (ExecutionException e) {
+                tier.breaker.onFailure();
+                tier.failures.increment();
+                log.debug("Generator tier '{}' failed", tier.tier.name(), e.getCause());
+            } catch (InterruptedException e) {
+                asteroid.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new AiGenerationException("Asteroid generation was interrupted", e);
+            }
+        }
+        return lastResort.generate();
+    }
+
+    /**
+     * Interrupts the tier calls still running.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static final class GuardedTier {
+        private final Tier tier;
+        private final CircuitBreaker breaker;
+        private final Counter failures;
+        private final Counter timeouts;
+        private final Counter circuitOpen;
+
+        private GuardedTier(Tier tier, CircuitBreaker breaker, MeterRegistry meterRegistry) {
+            this.tier = tier;
+            this.breaker = breaker;
+            this.failures = fallbackCounter(meterRegistry, tier.name(), "failure");
+            this.timeouts = fallbackCounter(meterRegistry, tier.name(), "timeout");
+            this.circuitOpen = fallbackCounter(meterRegistry, tier.name(), "circuit-open");
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                Gauge.builder("asteroid.generator.circuit.state", breaker, b -> b.state() == state ? 1 : 0)
+                        .description("Circuit breaker state of a generator tier")
+                        .tag("tier", tier.name())
+                        .tag("state", state.name().toLowerCase().replace('_', '-'))
+                        .register(meterRegistry);
+            }
+        }
+
+        private static Counter fallbackCounter(MeterRegistry meterRegistry, String tier, String reason) {
+            return Counter.builder("asteroid.generator.fallbacks")
+                    .description("Generations passed on to the next tier")
+                    .tag("tier", tier)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+}
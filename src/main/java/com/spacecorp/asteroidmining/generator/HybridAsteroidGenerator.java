@@ -1,12 +1,21 @@
 package com.spacecorp.asteroidmining.generator;
 
 import com.spacecorp.asteroidmining.domain.Asteroid;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.converter.BeanOutputConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 
 /**
@@ -16,8 +25,10 @@ import java.util.regex.Pattern;
  * This generator uses a "Hybrid" approach:
  * <ul>
  * <li><b>Creativity:</b> Names are generated via Mistral AI based on randomized themes.</li>
- * <li><b>Safety & fallback:</b> A simple validation logic ensures that even if the AI provides
- * malformed output, the system falls back to a safe, procedurally generated name.</li>
+ * <li><b>Batching:</b> One prompt asks for several names at once, which are queued for the following calls,
+ * so the prompt tokens and the round trip are shared by a whole batch of asteroids.</li>
+ * <li><b>Safety & fallback:</b> A simple validation logic drops malformed names. Only if the AI provides
+ * no valid name at all, the system falls back to a safe, procedurally generated name.</li>
  * <li><b>Composition:</b> Further property generation is delegated to a {@link RandomAsteroidFactory}.</li>
  * </ul>
  * * Enabled only when {@code asteroid.generator.mode=hybrid} is set in the configuration.
@@ -25,9 +36,21 @@ import java.util.regex.Pattern;
 @Component
 @ConditionalOnProperty(name = "asteroid.generator.mode", havingValue = "hybrid")
 public class HybridAsteroidGenerator implements AsteroidGenerator {
+    private static final Logger log = LoggerFactory.getLogger(HybridAsteroidGenerator.class);
 
     private final ChatClient chatClient;
+    private final BeanOutputConverter<List<String>> namesConverter;
     private final RandomAsteroidFactory asteroidFactory;
+    private final int batchSize;
+    /**
+     * Valid names of earlier batches, waiting to be used.
+     */
+    private final Queue<String> names = new ConcurrentLinkedQueue<>();
+    /**
+     * Lets only one caller request a new batch, while the others wait for its names.
+     */
+    private final ReentrantLock batchLock = new ReentrantLock();
+    private final Counter fallbackNames;
     /**
      * Pattern to ensure names contain only alphanumeric characters, dashes, and spaces.
      */
@@ -41,49 +64,121 @@ public class HybridAsteroidGenerator implements AsteroidGenerator {
             "shiny", "volatile", "cloudy", "botanic", "wild", "exotic"
     );
 
-    public HybridAsteroidGenerator(ChatClient.Builder builder, RandomAsteroidFactory asteroidFactory) {
+    /**
+     * @param batchSize the number of names requested with one prompt.
+     */
+    public HybridAsteroidGenerator(ChatClient.Builder builder, RandomAsteroidFactory asteroidFactory,
+                                   @Value("${asteroid.generator.hybrid.batch-size:10}") int batchSize,
+                                   MeterRegistry meterRegistry) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1.");
+        }
         // Configuring the AI with a system prompt to define its persona and a frame for the expected output.
         this.chatClient = builder
                 .defaultSystem("""
                         You are a planetary naming expert.
                         Rules:
-                        - Provide ONLY the name, no sentences, no punctuation.
+                        - Provide ONLY the names, no sentences, no punctuation within a name.
                         - Example: 'Ceres-Alpha', 'Aris-Centurion', 'X-99-Eris', or 'Alpha-Lumina-V2'.
                         - Avoid common suffixes like '-Alpha', '-Prime', '-Major' or '-One'.
                         - Avoid common prefixes like 'Astraeus-' or 'Umbra-'.
                         - Avoid repetition.
                         """)
                 .build();
+        this.namesConverter = new BeanOutputConverter<>(new ParameterizedTypeReference<>() {
+        });
         this.asteroidFactory = asteroidFactory;
+        this.batchSize = batchSize;
+        this.fallbackNames = Counter.builder("asteroid.generator.fallback.names")
+                .description("AI names replaced by a procedurally generated name")
+                .register(meterRegistry);
     }
 
     /**
-     * Generates a new Asteroid by prompting the AI for a name and enriching it with
-     * random procedural generated attributes.
+     * Generates a new Asteroid with the next queued name, prompting the AI for a new batch of names if none is left,
+     * and enriches it with random procedural generated attributes.
      * @return a fully populated {@link Asteroid} instance.
      */
     @Override
     public Asteroid generate() {
-        // Select a random theme to ensure variety in the AI's output
-        String randomTheme = THEMES.get(ThreadLocalRandom.current().nextInt(THEMES.size()));
-        String asteroidName = (chatClient.prompt()
-                .user(u -> u.text("Generate one creative asteroid name that sounds scientific, mystic and/or sci-fi " +
-                                "and has a {theme} vibe.")
-                        .param("theme", randomTheme)
-                ))
+        String asteroidName = names.poll();
+        if (asteroidName == null) {
+            asteroidName = nextNameOfNewBatch();
+        }
+        return asteroidFactory.createWithName(asteroidName);
+    }
+
+    private String nextNameOfNewBatch() {
+        batchLock.lock();
+        try {
+            // Another caller may have queued a batch while this one was waiting for the lock.
+            String asteroidName = names.poll();
+            if (asteroidName != null) {
+                return asteroidName;
+            }
+            List<String> themes = randomThemes();
+            Iterator<String> validNames = requestNames(themes).iterator();
+            if (!validNames.hasNext()) {
+                // Fallback: Generate a safe name if the AI output is inappropriate.
+                fallbackNames.increment();
+                return themes.getFirst() + " asteroid " + UUID.randomUUID().toString().substring(0, 6);
+            }
+            asteroidName = validNames.next();
+            validNames.forEachRemaining(names::add);
+            return asteroidName;
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    /**
+     * Prompts the AI for one name per theme.
+     * @return the distinct names passing the validation, possibly fewer than requested.
+     */
+    private List<String> requestNames(List<String> themes) {
+        String rawJson = chatClient.prompt()
+                .user(u -> u.text("""
+                                Generate {count} different creative asteroid names that sound scientific, mystic and/or sci-fi.
+                                Give each name the vibe of one of these themes, in this order: {themes}.
+                                {format}
+                                """)
+                        .param("count", themes.size())
+                        .param("themes", String.join(", ", themes))
+                        .param("format", namesConverter.getFormat())
+                )
                 .call()
                 .content();
 
-        // Basic response validation.
-        // We check for null/blank, excessive length (>25), word count (>3),
-        // and illegal special characters to prevent react on inappropriate asteroid names.
-        if (Objects.isNull(asteroidName) || asteroidName.isBlank()
-                || asteroidName.length() > 25 || asteroidName.split("[\\s\\-]+").length > 3
-                || !VALID_CHARACTERS.matcher(asteroidName).matches()) {
-            // Fallback: Generate a safe name if the AI output is inappropriate.
-            asteroidName = randomTheme + " asteroid " + UUID.randomUUID().toString().substring(0, 6);
+        List<String> requestedNames;
+        try {
+            requestedNames = Objects.isNull(rawJson) ? List.of() : namesConverter.convert(rawJson);
+        } catch (RuntimeException e) {
+            log.warn("AI delivered invalid names: {}", rawJson);
+            return List.of();
         }
+        return requestedNames.stream()
+                .filter(HybridAsteroidGenerator::isValidName)
+                .distinct()
+                .toList();
+    }
 
-        return asteroidFactory.createWithName(asteroidName);
+    /**
+     * Basic name validation.
+     * We check for null/blank, excessive length (>25), word count (>3),
+     * and illegal special characters to prevent react on inappropriate asteroid names.
+     */
+    private static boolean isValidName(String asteroidName) {
+        return !(Objects.isNull(asteroidName) || asteroidName.isBlank()
+                || asteroidName.length() > 25 || asteroidName.split("[\\s\\-]+").length > 3
+                || !VALID_CHARACTERS.matcher(asteroidName).matches());
+    }
+
+    private List<String> randomThemes() {
+        var random = ThreadLocalRandom.current();
+        List<String> themes = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            themes.add(THEMES.get(random.nextInt(THEMES.size())));
+        }
+        return themes;
     }
 }
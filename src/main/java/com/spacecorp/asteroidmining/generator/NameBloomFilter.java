@@ -0,0 +1,100 @@
+package com.spacecorp.asteroidmining.generator;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Thread-safe Bloom filter over asteroid names.
+ * <p>
+ * A name that was {@link #put(String) put} is always reported as {@link #mightContain(String) possibly contained}.
+ * Other names are reported with the configured false-positive rate, as long as no more than the expected number of
+ * names were put. The filter needs about {@code -ln(p) / ln(2)²} bits per name (e.g. 7.3 bits for 3 %), so
+ * ten million names fit in about 9 MB, independent of the length of the names.
+ * </p>
+ * <p>
+ * The bit positions are derived from two 64-bit hashes of the name by double hashing. Bits are set with an atomic
+ * {@code OR} and never cleared, so concurrent puts need no lock.
+ * </p>
+ */
+final class NameBloomFilter {
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedNames     the number of names the false-positive rate is calculated for.
+     * @param falsePositiveRate the chance that a name which was never put is reported as contained.
+     */
+    NameBloomFilter(long expectedNames, double falsePositiveRate) {
+        if (expectedNames < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("The name filter needs at least one expected name "
+                    + "and a false-positive rate between 0 and 1.");
+        }
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedNames * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.words = new long[Math.toIntExact((optimalBits + Long.SIZE - 1) / Long.SIZE)];
+        this.bitCount = (long) words.length * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedNames * ln2));
+    }
+
+    /**
+     * @return {@code false} if the name was certainly never put, {@code true} if it probably was.
+     */
+    boolean mightContain(String name) {
+        long hash1 = hash(name);
+        long hash2 = secondHash(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            long word = (long) WORDS.getAcquire(words, (int) (bit >>> 6));
+            if ((word & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void put(String name) {
+        long hash1 = hash(name);
+        long hash2 = secondHash(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            WORDS.getAndBitwiseOrRelease(words, (int) (bit >>> 6), 1L << bit);
+        }
+    }
+
+    /**
+     * @return the memory held by the bits of the filter.
+     */
+    long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    /**
+     * FNV-1a over the UTF-16 chars of the name, finished with the MurmurHash3 mixer so every bit of the
+     * result depends on every char.
+     */
+    private static long hash(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash = (hash ^ name.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The second hash is odd, so it is never zero and shares no factor of two with the bit count,
+     * which keeps the probes of one name from repeating early.
+     */
+    private static long secondHash(long hash1) {
+        return mix(hash1 ^ 0x9e3779b97f4a7c15L) | 1;
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -5,19 +5,30 @@ import com.spacecorp.asteroidmining.domain.ResourceType;
 import com.spacecorp.asteroidmining.domain.RiskProfile;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.SplittableRandom;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Factory responsible for the random creation of {@link Asteroid} objects.
  * This factory decouples asteroid data generation (distance, risk, resources) from the naming logic.
  * By centralizing this logic, we avoid code duplication across different generator
  * implementations and maintain a single point of truth for procedural asteroid generation.
+ * <p>
+ * Besides single asteroids, the factory generates whole reproducible catalogs for load tests and simulations
+ * (see {@link #createSeeded(long, long)}).
+ * </p>
  */
 @Component
 public class RandomAsteroidFactory {
 
+    // Cached, since values() copies the array on every call.
+    private static final RiskProfile[] RISK_PROFILES = RiskProfile.values();
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+
     /**
      * Composes a complete {@link Asteroid} object by combining a provided name with
      * procedurally generated attributes.
@@ -27,12 +38,42 @@ public class RandomAsteroidFactory {
      * risk profile, and resource distribution.
      */
     public Asteroid createWithName(String name) {
-        var random = ThreadLocalRandom.current();
+        return create(name, ThreadLocalRandom.current());
+    }
 
+    /**
+     * Generates a catalog of asteroids that only depends on the seed, so the same seed always yields
+     * the same asteroids in the same order.
+     * <p>
+     * The asteroids are generated in chunks on all cores while the returned iterator is consumed, and only a few
+     * chunks are held in memory at a time. Each chunk draws from its own {@link SplittableRandom}, split from
+     * the seeded root in chunk order, so the result does not depend on the number of threads.
+     * The iterator can be passed straight to a repository import.
+     * </p>
+     *
+     * @param seed  the seed of the catalog.
+     * @param count the number of asteroids to generate.
+     * @return the asteroids, generated while they are iterated.
+     */
+    public Iterator<Asteroid> createSeeded(long seed, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("The number of asteroids must not be negative.");
+        }
+        return new SeededAsteroids(this, new SplittableRandom(seed), count);
+    }
+
+    /**
+     * Generates an asteroid with a random name, drawing all attributes from the given generator.
+     */
+    Asteroid createSeeded(RandomGenerator random) {
+        // Six hex digits, like the names of the LocalAsteroidGenerator.
+        return create("Asteroid " + Integer.toHexString(random.nextInt(0x100000, 0x1000000)), random);
+    }
+
+    private Asteroid create(String name, RandomGenerator random) {
         double distance = random.nextDouble(100.);
-        RiskProfile[] riskProfiles = RiskProfile.values();
-        RiskProfile risk = riskProfiles[random.nextInt(riskProfiles.length)];
-        var resources = generateRandomResources();
+        RiskProfile risk = RISK_PROFILES[random.nextInt(RISK_PROFILES.length)];
+        var resources = generateRandomResources(random);
 
         return Asteroid.builder()
                 .name(name)
@@ -46,12 +87,9 @@ public class RandomAsteroidFactory {
      * Internal helper to simulate a distribution of resources.
      * @return a map of {@link ResourceType} and their respective {@link Asteroid.ResourceAmount}.
      */
-    private Map<ResourceType, Asteroid.ResourceAmount> generateRandomResources() {
-        var random = ThreadLocalRandom.current();
-
-        ResourceType[] resourceTypes = ResourceType.values();
-        Map<ResourceType, Asteroid.ResourceAmount> resources = new HashMap<>();
-        for (var resource : resourceTypes) {
+    private Map<ResourceType, Asteroid.ResourceAmount> generateRandomResources(RandomGenerator random) {
+        Map<ResourceType, Asteroid.ResourceAmount> resources = new EnumMap<>(ResourceType.class);
+        for (var resource : RESOURCE_TYPES) {
             if (random.nextBoolean()) continue;
             resources.put(resource, new Asteroid.ResourceAmount(random.nextInt(100_000)));
         }
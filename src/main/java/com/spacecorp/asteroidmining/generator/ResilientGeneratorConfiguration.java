@@ -0,0 +1,49 @@
+package com.spacecorp.asteroidmining.generator;
+
+import com.spacecorp.asteroidmining.generator.FallbackAsteroidGenerator.Tier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Chains the generators llm → hybrid → local into one {@link FallbackAsteroidGenerator}.
+ * <p>
+ * The tiers are created here instead of being registered as beans, so the composite remains the only
+ * {@link AsteroidGenerator}. The latency budgets are configured with
+ * {@code asteroid.generator.resilient.llm-budget} and {@code hybrid-budget}, the circuit breakers with
+ * {@code asteroid.generator.resilient.circuit-breaker.*}.
+ * </p>
+ * <p>This configuration is only loaded if the property {@code asteroid.generator.mode}
+ * is set to {@code resilient}.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "asteroid.generator.mode", havingValue = "resilient")
+public class ResilientGeneratorConfiguration {
+
+    @Bean
+    public FallbackAsteroidGenerator resilientAsteroidGenerator(
+            ChatClient.Builder chatBuilder,
+            RandomAsteroidFactory asteroidFactory,
+            @Value("${asteroid.generator.hybrid.batch-size:10}") int hybridBatchSize,
+            @Value("${asteroid.generator.resilient.llm-budget:3s}") Duration llmBudget,
+            @Value("${asteroid.generator.resilient.hybrid-budget:2s}") Duration hybridBudget,
+            @Value("${asteroid.generator.resilient.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${asteroid.generator.resilient.circuit-breaker.open-duration:30s}") Duration openDuration,
+            MeterRegistry meterRegistry) {
+        // Each generator configures its own client, so both need a copy of the builder.
+        var llm = new AiAsteroidGenerator(chatBuilder.clone(), meterRegistry);
+        var hybrid = new HybridAsteroidGenerator(chatBuilder.clone(), asteroidFactory, hybridBatchSize, meterRegistry);
+        return new FallbackAsteroidGenerator(
+                List.of(new Tier("llm", llm, llmBudget), new Tier("hybrid", hybrid, hybridBudget)),
+                new LocalAsteroidGenerator(asteroidFactory),
+                failureThreshold,
+                openDuration,
+                meterRegistry);
+    }
+}
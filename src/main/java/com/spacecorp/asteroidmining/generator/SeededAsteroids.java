@@ -0,0 +1,91 @@
+package com.spacecorp.asteroidmining.generator;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * Iterator over a seeded catalog, see {@link RandomAsteroidFactory#createSeeded(long, long)}.
+ * <p>
+ * The asteroids are generated in waves of chunks. The chunks of a wave are generated in parallel, and the next wave
+ * is generated in the background while the current one is consumed.
+ * </p>
+ */
+class SeededAsteroids implements Iterator<Asteroid> {
+
+    /**
+     * Changing the chunk size changes which random numbers each asteroid draws, and thus the catalog of a seed.
+     */
+    static final int CHUNK_SIZE = 4096;
+    private static final int CHUNKS_PER_WAVE = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final RandomAsteroidFactory asteroidFactory;
+    private final SplittableRandom root;
+    private long remainingToGenerate;
+    private long remainingToConsume;
+    private Iterator<Asteroid> currentWave = Collections.emptyIterator();
+    private CompletableFuture<List<Asteroid>> nextWave;
+
+    SeededAsteroids(RandomAsteroidFactory asteroidFactory, SplittableRandom root, long count) {
+        this.asteroidFactory = asteroidFactory;
+        this.root = root;
+        this.remainingToGenerate = count;
+        this.remainingToConsume = count;
+        this.nextWave = generateNextWave();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return remainingToConsume > 0;
+    }
+
+    @Override
+    public Asteroid next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (!currentWave.hasNext()) {
+            currentWave = nextWave.join().iterator();
+            nextWave = generateNextWave();
+        }
+        remainingToConsume--;
+        return currentWave.next();
+    }
+
+    /**
+     * Splits the chunk generators in chunk order on the calling thread, then generates the chunks in parallel.
+     */
+    private CompletableFuture<List<Asteroid>> generateNextWave() {
+        if (remainingToGenerate == 0) {
+            return null;
+        }
+        List<SplittableRandom> chunkRandoms = new ArrayList<>(CHUNKS_PER_WAVE);
+        List<Integer> chunkSizes = new ArrayList<>(CHUNKS_PER_WAVE);
+        while (chunkRandoms.size() < CHUNKS_PER_WAVE && remainingToGenerate > 0) {
+            int chunkSize = (int) Math.min(CHUNK_SIZE, remainingToGenerate);
+            chunkRandoms.add(root.split());
+            chunkSizes.add(chunkSize);
+            remainingToGenerate -= chunkSize;
+        }
+        return CompletableFuture.supplyAsync(() -> IntStream.range(0, chunkRandoms.size())
+                .parallel()
+                .mapToObj(chunk -> generateChunk(chunkRandoms.get(chunk), chunkSizes.get(chunk)))
+                .flatMap(List::stream)
+                .toList());
+    }
+
+    private List<Asteroid> generateChunk(SplittableRandom random, int size) {
+        List<Asteroid> chunk = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            chunk.add(asteroidFactory.createSeeded(random));
+        }
+        return chunk;
+    }
+}
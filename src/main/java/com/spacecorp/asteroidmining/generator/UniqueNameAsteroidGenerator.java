@@ -0,0 +1,191 @@
+package com.spacecorp.asteroidmining.generator;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.repository.AsteroidRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Decorator that only hands out asteroids whose names are not taken yet.
+ * <p>
+ * The procedural names of the {@link LocalAsteroidGenerator} and the names invented by the AI repeat once the
+ * catalog grows. Every generated name is checked against a {@link NameBloomFilter} of the taken names first.
+ * Most new names are certainly unknown to the filter and are accepted without a query. Only if the filter reports
+ * the name as possibly taken, the repository confirms it with an exact lookup. If the name is really taken,
+ * the asteroid is generated again, and after the maximum number of attempts the last name gets a numeric suffix.
+ * </p>
+ * <p>
+ * An accepted name is pending until its asteroid is reported as {@link #onSaved(List) saved}, e.g. while it waits
+ * in the buffer of a {@link BufferedAsteroidGenerator}. Pending names are claimed atomically in a concurrent set,
+ * so they are not handed out twice although neither the filter nor the repository knows them yet. Saved names,
+ * including imported ones, are added to the filter and then released.
+ * </p>
+ * <p>
+ * The filter is populated with the names of the repository on a background thread once the application context
+ * is initialized. Until it is complete, every name is confirmed by the repository.
+ * </p>
+ *
+ * @see AsteroidGeneratorUniqueNamePostProcessor
+ */
+public class UniqueNameAsteroidGenerator implements AsteroidGenerator, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(UniqueNameAsteroidGenerator.class);
+    /**
+     * Base of the suffixed name if the decorated generator keeps returning asteroids without a name.
+     */
+    private static final String UNNAMED = "Asteroid";
+
+    private final AsteroidGenerator delegate;
+    private final AsteroidRepository repository;
+    private final int maxAttempts;
+    private final NameBloomFilter takenNames;
+    private final Set<String> pendingNames = ConcurrentHashMap.newKeySet();
+    private volatile boolean populated;
+    private final Counter newNames;
+    private final Counter confirmedNewNames;
+    private final Counter collisions;
+
+    /**
+     * @param delegate          the generator whose names are checked.
+     * @param repository        provides the taken names and confirms the possible collisions.
+     * @param expectedNames     the number of names the filter is sized for.
+     * @param falsePositiveRate the share of new names the filter reports as possibly taken, while it holds at most
+     *                          the expected number of names.
+     * @param maxAttempts       the number of generations before a taken name gets a suffix.
+     * @param meterRegistry     counts the checked names as {@code asteroid.generator.names}, tagged with the result
+     *                          {@code new} (unknown to the filter), {@code confirmed-new} (confirmed by the repository)
+     *                          or {@code collision}.
+     */
+    public UniqueNameAsteroidGenerator(AsteroidGenerator delegate, AsteroidRepository repository, long expectedNames,
+                                       double falsePositiveRate, int maxAttempts, MeterRegistry meterRegistry) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("The name check needs at least one attempt.");
+        }
+        this.delegate = delegate;
+        this.repository = repository;
+        this.maxAttempts = maxAttempts;
+        this.takenNames = new NameBloomFilter(expectedNames, falsePositiveRate);
+        this.newNames = nameCounter(meterRegistry, "new");
+        this.confirmedNewNames = nameCounter(meterRegistry, "confirmed-new");
+        this.collisions = nameCounter(meterRegistry, "collision");
+    }
+
+    /**
+     * Populates the filter with the taken names in the background.
+     */
+    void startPopulating() {
+        Thread.ofVirtual().name("asteroid-name-filter").start(this::populate);
+    }
+
+    /**
+     * Generates asteroids with the decorated generator until one has a name that is not taken.
+     *
+     * @return a fully populated {@link Asteroid} instance with a new name.
+     */
+    @Override
+    public Asteroid generate() {
+        Asteroid asteroid = delegate.generate();
+        for (int attempt = 1; !claim(asteroid.name()); attempt++) {
+            if (attempt == maxAttempts) {
+                log.debug("No unique name after {} attempts, adding a suffix to '{}'", attempt, asteroid.name());
+                return withSuffix(asteroid);
+            }
+            asteroid = delegate.generate();
+        }
+        return asteroid;
+    }
+
+    /**
+     * Adds the names to the filter and releases them, so later checks find them in the filter.
+     * Asteroids without a name, e.g. from an import, take no name and are skipped.
+     */
+    @Override
+    public void onSaved(List<Asteroid> asteroids) {
+        for (Asteroid asteroid : asteroids) {
+            if (asteroid.name() != null) {
+                takenNames.put(asteroid.name());
+                pendingNames.remove(asteroid.name());
+            }
+        }
+        delegate.onSaved(asteroids);
+    }
+
+    /**
+     * Reserves the name as pending if it is neither pending nor taken.
+     * A missing name counts as a collision, so the asteroid is generated again.
+     *
+     * @return {@code false} if the name is missing, pending or an asteroid with this name exists.
+     */
+    private boolean claim(String name) {
+        if (name == null || !pendingNames.add(name)) {
+            collisions.increment();
+            return false;
+        }
+        if (populated && !takenNames.mightContain(name)) {
+            newNames.increment();
+        } else if (repository.existsByName(name)) {
+            pendingNames.remove(name);
+            collisions.increment();
+            return false;
+        } else {
+            confirmedNewNames.increment();
+        }
+        return true;
+    }
+
+    /**
+     * Closes the decorated generator if it is closeable, since Spring only closes the outermost decorator.
+     */
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Asteroid withSuffix(Asteroid asteroid) {
+        String baseName = asteroid.name() == null ? UNNAMED : asteroid.name();
+        for (int suffix = 2; ; suffix++) {
+            String name = baseName + "-" + suffix;
+            if (claim(name)) {
+                return asteroid.withName(name);
+            }
+        }
+    }
+
+    /**
+     * Adds the names of the repository to the filter and marks it as complete.
+     * Asteroids saved without a name are skipped.
+     */
+    void populate() {
+        long names = 0;
+        try (Stream<String> taken = repository.streamNames()) {
+            var iterator = taken.iterator();
+            while (iterator.hasNext()) {
+                String name = iterator.next();
+                if (name != null) {
+                    takenNames.put(name);
+                    names++;
+                }
+            }
+            populated = true;
+            log.info("Loaded {} asteroid names into the name filter ({} KB)", names, takenNames.sizeInBytes() / 1024);
+        } catch (RuntimeException e) {
+            log.warn("Loading the asteroid names failed after {} names, every generated name is checked "
+                    + "by the repository", names, e);
+        }
+    }
+
+    private static Counter nameCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("asteroid.generator.names")
+                .description("Generated asteroid names by the result of the uniqueness check")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
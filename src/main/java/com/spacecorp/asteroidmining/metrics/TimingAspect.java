@@ -0,0 +1,75 @@
+package com.spacecorp.asteroidmining.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the latency of every call to the services, the {@link com.spacecorp.asteroidmining.repository.AsteroidRepository}
+ * and the {@link com.spacecorp.asteroidmining.generator.AsteroidGenerator}.
+ * <p>
+ * Each layer gets its own timer ({@code asteroid.service}, {@code asteroid.repository} and {@code asteroid.generator}),
+ * tagged with the implementing class, the method and the simple name of a thrown exception ({@code none} on success).
+ * Percentiles and histograms are configured with the {@code management.metrics.distribution.*} properties.
+ * </p>
+ * <p>
+ * Only calls through the Spring proxy are timed, so calls of a service to its own methods are not recorded separately.
+ * Repository calls answered by the repository cache do not reach the repository and are not recorded either.
+ * Methods returning a {@link java.util.stream.Stream} are timed until the stream is returned, not until it is consumed.
+ * </p>
+ */
+@Aspect
+@Component
+public class TimingAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public TimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.spacecorp.asteroidmining.service..*)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("asteroid.service", joinPoint);
+    }
+
+    @Around("execution(* com.spacecorp.asteroidmining.repository.AsteroidRepository.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("asteroid.repository", joinPoint);
+    }
+
+    @Around("execution(* com.spacecorp.asteroidmining.generator.AsteroidGenerator.*(..))")
+    public Object timeGenerator(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("asteroid.generator", joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("class", className(joinPoint.getTarget()))
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String className(Object target) {
+        // Spring Data repositories are proxies, whose first interface is the declared repository interface.
+        if (target instanceof Advised proxy && proxy.getProxiedInterfaces().length > 0) {
+            return proxy.getProxiedInterfaces()[0].getSimpleName();
+        }
+        return AopProxyUtils.ultimateTargetClass(target).getSimpleName();
+    }
+}
@@ -0,0 +1,107 @@
+package com.spacecorp.asteroidmining.repository;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Append-only list that stores its elements in fixed-size chunks.
+ * <p>
+ * Unlike a {@link java.util.concurrent.CopyOnWriteArrayList}, appending never copies the elements
+ * that are already stored: a full chunk is simply followed by a new one. Only the small chunk
+ * directory is copied when it runs out of space.
+ * </p>
+ * <p>
+ * Readers never lock. An element becomes visible when the size is published after it was written,
+ * and published elements never change, so {@link #snapshot()} is a consistent, immutable view.
+ * Appends are not synchronized and must be serialized by the caller.
+ * </p>
+ *
+ * @param <E> the type of the stored elements.
+ */
+final class AppendOnlyLog<E> {
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile Object[][] chunks = new Object[16][];
+    /**
+     * Number of published elements. Readers must read this before {@link #chunks}.
+     */
+    private volatile int size;
+
+    /**
+     * Appends an element. Must not be called concurrently.
+     *
+     * @return the position of the element.
+     */
+    int append(E element) {
+        int index = size;
+        if (index == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Append-only log is full.");
+        }
+        int chunkIndex = index >>> CHUNK_BITS;
+        Object[][] directory = chunks;
+        if (chunkIndex == directory.length) {
+            directory = Arrays.copyOf(directory, directory.length * 2);
+        }
+        if (directory[chunkIndex] == null) {
+            directory[chunkIndex] = new Object[CHUNK_SIZE];
+            chunks = directory;
+        }
+        directory[chunkIndex][index & CHUNK_MASK] = element;
+
+        size = index + 1;
+        return index;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param index position of a published element.
+     * @return the element at this position.
+     */
+    E get(int index) {
+        Objects.checkIndex(index, size);
+        return elementAt(chunks, index);
+    }
+
+    /**
+     * @return an immutable view of all elements published so far.
+     */
+    List<E> snapshot() {
+        int snapshotSize = size;
+        return new Snapshot<>(chunks, snapshotSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E elementAt(Object[][] directory, int index) {
+        return (E) directory[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    private static final class Snapshot<E> extends AbstractList<E> implements RandomAccess {
+        private final Object[][] directory;
+        private final int size;
+
+        Snapshot(Object[][] directory, int size) {
+            this.directory = directory;
+            this.size = size;
+        }
+
+        @Override
+        public E get(int index) {
+            Objects.checkIndex(index, size);
+            return elementAt(directory, index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Repository fragment that inserts many asteroids with a constant number of statements.
+ * <p>
+ * Spring Data JDBC saves an aggregate with one insert for the asteroid and one per resource,
+ * so a batch of asteroids would cost several round trips per asteroid.
+ * Imports of whole catalogs bypass the insert statements and use PostgreSQL's {@code COPY} instead.
+ * </p>
+ *
+ * @see AsteroidBatchRepositoryImpl
+ */
+public interface AsteroidBatchRepository {
+
+    List<Asteroid> saveAll(List<Asteroid> asteroids);
+
+    long importAll(Iterator<Asteroid> asteroids);
+}
@@ -0,0 +1,179 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Inserts batches of asteroids into PostgreSQL with multi-row inserts.
+ * <p>
+ * A batch is saved in one transaction with three statements, no matter how many asteroids it contains:
+ * the ids are reserved from the sequence of the {@code asteroids} table first, then all asteroids and
+ * finally all resources are inserted from arrays with {@code unnest}.
+ * </p>
+ * <p>
+ * Imports stream the asteroids into both tables with the driver's {@link CopyManager}, which skips the
+ * parsing and planning of insert statements. One {@code importAll} call copies its asteroids as CSV
+ * in one transaction, so a failed call leaves none of them behind. {@code AsteroidService.importAsteroids}
+ * commits the catalog chunk by chunk, {@value AsteroidRepository#IMPORT_CHUNK_SIZE} asteroids per call,
+ * so an invalid line keeps the chunks imported before it.
+ * </p>
+ */
+public class AsteroidBatchRepositoryImpl implements AsteroidBatchRepository {
+
+    private static final String RESERVE_IDS = """
+        SELECT nextval(pg_get_serial_sequence('asteroids', 'id')) FROM generate_series(1, ?)
+        """;
+    private static final String INSERT_ASTEROIDS = """
+        INSERT INTO asteroids (id, name, risk_profile, distance)
+        SELECT * FROM unnest(CAST(? AS BIGINT[]), CAST(? AS VARCHAR[]), CAST(? AS VARCHAR[]), CAST(? AS NUMERIC[]))
+        """;
+    private static final String INSERT_RESOURCES = """
+        INSERT INTO asteroid_resource (asteroid_id, resource_type, amount)
+        SELECT * FROM unnest(CAST(? AS BIGINT[]), CAST(? AS VARCHAR[]), CAST(? AS INTEGER[]))
+        """;
+    private static final String COPY_ASTEROIDS = "COPY asteroids (id, name, risk_profile, distance) FROM STDIN (FORMAT csv)";
+    private static final String COPY_RESOURCES = "COPY asteroid_resource (asteroid_id, resource_type, amount) FROM STDIN (FORMAT csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public AsteroidBatchRepositoryImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public List<Asteroid> saveAll(List<Asteroid> asteroids) {
+        if (asteroids.isEmpty()) {
+            return List.of();
+        }
+        return transactionTemplate.execute(status -> insert(asteroids));
+    }
+
+    private List<Asteroid> insert(List<Asteroid> asteroids) {
+        List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS, Long.class, asteroids.size());
+
+        int count = asteroids.size();
+        List<Asteroid> saved = new ArrayList<>(count);
+        Long[] asteroidIds = new Long[count];
+        String[] names = new String[count];
+        String[] riskProfiles = new String[count];
+        Double[] distances = new Double[count];
+        List<Long> resourceAsteroidIds = new ArrayList<>();
+        List<String> resourceTypes = new ArrayList<>();
+        List<Integer> amounts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Asteroid asteroid = asteroids.get(i).withId(ids.get(i));
+            saved.add(asteroid);
+            asteroidIds[i] = asteroid.id();
+            names[i] = asteroid.name();
+            riskProfiles[i] = asteroid.riskProfile() == null ? null : asteroid.riskProfile().name();
+            distances[i] = asteroid.distanceInLightYears();
+            if (asteroid.resources() != null) {
+                asteroid.resources().forEach((resource, amount) -> {
+                    resourceAsteroidIds.add(asteroid.id());
+                    resourceTypes.add(resource.name());
+                    amounts.add(amount.amount());
+                });
+            }
+        }
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_ASTEROIDS);
+            statement.setArray(1, connection.createArrayOf("bigint", asteroidIds));
+            statement.setArray(2, connection.createArrayOf("varchar", names));
+            statement.setArray(3, connection.createArrayOf("varchar", riskProfiles));
+            statement.setArray(4, connection.createArrayOf("float8", distances));
+            return statement;
+        });
+        if (!resourceAsteroidIds.isEmpty()) {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(INSERT_RESOURCES);
+                statement.setArray(1, connection.createArrayOf("bigint", resourceAsteroidIds.toArray(Long[]::new)));
+                statement.setArray(2, connection.createArrayOf("varchar", resourceTypes.toArray(String[]::new)));
+                statement.setArray(3, connection.createArrayOf("integer", amounts.toArray(Integer[]::new)));
+                return statement;
+            });
+        }
+        return saved;
+    }
+
+    @Override
+    public long importAll(Iterator<Asteroid> asteroids) {
+        return transactionTemplate.execute(status -> jdbcTemplate.execute((ConnectionCallback<Long>) connection ->
+                copy(connection.unwrap(PGConnection.class).getCopyAPI(), asteroids)));
+    }
+
+    private long copy(CopyManager copyManager, Iterator<Asteroid> asteroids) throws SQLException {
+        long imported = 0;
+        List<Asteroid> chunk = new ArrayList<>(AsteroidRepository.IMPORT_CHUNK_SIZE);
+        StringBuilder asteroidRows = new StringBuilder();
+        StringBuilder resourceRows = new StringBuilder();
+        while (asteroids.hasNext()) {
+            chunk.add(asteroids.next());
+            if (chunk.size() < AsteroidRepository.IMPORT_CHUNK_SIZE && asteroids.hasNext()) {
+                continue;
+            }
+
+            List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS, Long.class, chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Asteroid asteroid = chunk.get(i);
+                long id = ids.get(i);
+                asteroidRows.append(id).append(',');
+                appendQuoted(asteroidRows, asteroid.name()).append(',')
+                        .append(asteroid.riskProfile() == null ? "" : asteroid.riskProfile().name()).append(',')
+                        .append(asteroid.distanceInLightYears()).append('\n');
+                if (asteroid.resources() != null) {
+                    asteroid.resources().forEach((resource, amount) -> resourceRows
+                            .append(id).append(',')
+                            .append(resource.name()).append(',')
+                            .append(amount.amount() == null ? "" : amount.amount()).append('\n'));
+                }
+            }
+            copyIn(copyManager, COPY_ASTEROIDS, asteroidRows);
+            copyIn(copyManager, COPY_RESOURCES, resourceRows);
+
+            imported += chunk.size();
+            chunk.clear();
+            asteroidRows.setLength(0);
+            resourceRows.setLength(0);
+        }
+        return imported;
+    }
+
+    private static void copyIn(CopyManager copyManager, String sql, StringBuilder rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            copyManager.copyIn(sql, new StringReader(rows.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends a CSV field that is always quoted, so names with commas, quotes or line breaks are copied unchanged.
+     * A missing value is appended as an unquoted empty field, which {@code COPY} reads as {@code NULL}.
+     */
+    private static StringBuilder appendQuoted(StringBuilder rows, String value) {
+        if (value == null) {
+            return rows;
+        }
+        return rows.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -1,12 +1,18 @@
 package com.spacecorp.asteroidmining.repository;
 
 import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.AsteroidStatistics;
 import com.spacecorp.asteroidmining.domain.ResourceType;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the {@link AsteroidRepository} to retrieve data from an SQL-Database.
@@ -14,20 +20,228 @@ import java.util.List;
  * Note: We use {@link Profile} to ensure this JDBC implementation is only active
  * when connecting to a PostgreSQL instance.
  * </p>
+ * <p>
+ * Paged queries are implemented as seek queries ({@code id > :afterId ORDER BY id LIMIT :limit})
+ * instead of {@code OFFSET}, so Postgres never reads and discards the rows of previous pages.
+ * The stream methods are implemented by the {@link AsteroidStreamRepository} fragment,
+ * batches are saved by the {@link AsteroidBatchRepository} fragment,
+ * and statistics are aggregated by the {@link AsteroidStatisticsRepository} fragment.
+ * </p>
+ * <p>
+ * List queries join the resources and build the asteroids with the {@link AsteroidResultSetExtractor},
+ * so the number of round trips does not grow with the size of the result. Paged queries select the
+ * page of asteroids in a subquery first, since a {@code LIMIT} on the join would count resources instead of asteroids.
+ * </p>
  */
 @Profile("postgres")
 @SuppressWarnings("unused")
-public interface AsteroidJdbcRepository extends CrudRepository<Asteroid, Long>, AsteroidRepository {
+public interface AsteroidJdbcRepository extends CrudRepository<Asteroid, Long>, AsteroidRepository,
+        AsteroidStreamRepository, AsteroidBatchRepository, AsteroidStatisticsRepository {
+
+    @Override
+    @Query(value = """
+        SELECT a.id, a.name, a.risk_profile, a.distance, r.resource_type, r.amount
+        FROM asteroids a
+        LEFT JOIN asteroid_resource r ON r.asteroid_id = a.id
+        ORDER BY a.id
+    """, resultSetExtractorClass = AsteroidResultSetExtractor.class)
+    List<Asteroid> findAll();
 
     @Override
-    @Query("SELECT * FROM asteroids WHERE distance <= :maxDistance")
+    @Query(value = """
+        SELECT a.id, a.name, a.risk_profile, a.distance, r.resource_type, r.amount
+        FROM (SELECT * FROM asteroids WHERE id > :afterId ORDER BY id LIMIT :limit) a
+        LEFT JOIN asteroid_resource r ON r.asteroid_id = a.id
+        ORDER BY a.id
+    """, resultSetExtractorClass = AsteroidResultSetExtractor.class)
+    List<Asteroid> findPage(long afterId, int limit);
+
+    /**
+     * Derived as an {@code EXISTS} query, so it neither loads the resources nor fails on duplicate names
+     * like the derived {@link #findByName(String)}. Uses the name index.
+     */
+    @Override
+    boolean existsByName(String name);
+
+    /**
+     * The parameter is cast to NUMERIC explicitly. Comparing the NUMERIC column against a double
+     * would cast the column instead, which prevents Postgres from using the distance index.
+     */
+    @Override
+    @Query(value = """
+        SELECT a.id, a.name, a.risk_profile, a.distance, r.resource_type, r.amount
+        FROM asteroids a
+        LEFT JOIN asteroid_resource r ON r.asteroid_id = a.id
+        WHERE a.distance <= CAST(:maxDistance AS NUMERIC)
+        ORDER BY a.id
+    """, resultSetExtractorClass = AsteroidResultSetExtractor.class)
     List<Asteroid> findInRange(double maxDistance);
 
     @Override
-    @Query("""
-        SELECT a.* FROM asteroids a
-        JOIN asteroid_resource r ON a.id = r.asteroid_id
-        WHERE r.resource_type = :resource
-    """)
+    @Query(value = """
+        SELECT a.id, a.name, a.risk_profile, a.distance, r.resource_type, r.amount
+        FROM (
+            SELECT * FROM asteroids
+            WHERE distance <= CAST(:maxDistance AS NUMERIC) AND id > :afterId
+            ORDER BY id
+            LIMIT :limit
+        ) a
+        LEFT JOIN asteroid_resource r ON r.asteroid_id = a.id
+        ORDER BY a.id
+    """, resultSetExtractorClass = AsteroidResultSetExtractor.class)
+    List<Asteroid> findInRange(double maxDistance, long afterId, int limit);
+
+    @Override
+    @Query(value = """
+        SELECT a.id, a.name, a.risk_profile, a.distance, r.resource_type, r.amount
+        FROM asteroids a
+        LEFT JOIN asteroid_resource r ON r.asteroid_id = a.id
+        WHERE a.id IN (SELECT asteroid_id FROM asteroid_resource WHERE resource_type = :resource)
+        ORDER BY a.id
+    """, resultSetExtractorClass = AsteroidResultSetExtractor.class)
     List<Asteroid> findWithResource(ResourceType resource);
+
+    @Override
+    default List<Asteroid> findWithResources(Set<ResourceType> resources) {
+        if (resources.isEmpty()) {
+            return findAll();
+        }
+        return findWithResourceNames(resources.stream().map(Enum::name).toList(), resources.size());
+    }
+
+    /**
+     * Selects the asteroids holding every given resource by counting the matches per asteroid.
+     * Uses the index leading on {@code resource_type}.
+     */
+    @Query(value = """
+        SELECT a.id, a.name, a.risk_profile, a.distance, r.resource_type, r.amount
+        FROM asteroids a
+        LEFT JOIN asteroid_resource r ON r.asteroid_id = a.id
+        WHERE a.id IN (
+            SELECT asteroid_id FROM asteroid_resource
+            WHERE resource_type IN (:resourceNames)
+            GROUP BY asteroid_id
+            HAVING COUNT(*) = :resourceCount
+        )
+        ORDER BY a.id
+    """, resultSetExtractorClass = AsteroidResultSetExtractor.class)
+    List<Asteroid> findWithResourceNames(Collection<String> resourceNames, int resourceCount);
+
+    @Override
+    default List<Asteroid> findWithResources(Set<ResourceType> resources, long afterId, int limit) {
+        if (resources.isEmpty()) {
+            return findPage(afterId, limit);
+        }
+        return findWithResourceNames(resources.iterator().next().name(), resources.stream().map(Enum::name).toList(),
+                resources.size(), afterId, limit);
+    }
+
+    /**
+     * Seeks the page in the index leading on {@code resource_type}: the asteroids holding the first resource are
+     * walked in id order from the cursor, and each of them is checked for the other resources with its primary key.
+     * The walk stops once the page is full, so the cost does not grow with the rest of the catalog.
+     */
+    @Query(value = """
+        SELECT a.id, a.name, a.risk_profile, a.distance, r.resource_type, r.amount
+        FROM (
+            SELECT f.asteroid_id FROM asteroid_resource f
+            WHERE f.resource_type = :firstResourceName AND f.asteroid_id > :afterId
+              AND (
+                  SELECT COUNT(*) FROM asteroid_resource o
+                  WHERE o.asteroid_id = f.asteroid_id AND o.resource_type IN (:resourceNames)
+              ) = :resourceCount
+            ORDER BY f.asteroid_id
+            LIMIT :limit
+        ) page
+        JOIN asteroids a ON a.id = page.asteroid_id
+        LEFT JOIN asteroid_resource r ON r.asteroid_id = a.id
+        ORDER BY a.id
+    """, resultSetExtractorClass = AsteroidResultSetExtractor.class)
+    List<Asteroid> findWithResourceNames(String firstResourceName, Collection<String> resourceNames, int resourceCount,
+                                         long afterId, int limit);
+
+    /**
+     * Values the asteroids inside the database with one aggregate query over their resources and the given prices,
+     * so only the profitable asteroids are transferred. The prices are sent as one JSON parameter, see
+     * {@link MarketPricesJson}. Asteroids without priced resources are worth nothing and only match a minimum value
+     * of zero or less.
+     */
+    @Override
+    default List<Asteroid> findWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices) {
+        return findWorthAtLeastPrices(minTotalValue, MarketPricesJson.toJson(prices));
+    }
+
+    @Query(value = """
+        WITH p AS MATERIALIZED (
+            SELECT key AS resource_type, CAST(value AS BIGINT) AS price FROM jsonb_each_text(CAST(:prices AS jsonb))
+        )
+        SELECT a.id, a.name, a.risk_profile, a.distance, r.resource_type, r.amount
+        FROM asteroids a
+        LEFT JOIN asteroid_resource r ON r.asteroid_id = a.id
+        WHERE :minTotalValue <= 0 OR a.id IN (
+            SELECT v.asteroid_id FROM asteroid_resource v
+            JOIN p ON p.resource_type = v.resource_type
+            GROUP BY v.asteroid_id
+            HAVING SUM(v.amount * p.price) >= :minTotalValue
+        )
+        ORDER BY a.id
+    """, resultSetExtractorClass = AsteroidResultSetExtractor.class)
+    List<Asteroid> findWorthAtLeastPrices(long minTotalValue, String prices);
+
+    /**
+     * Pages through the asteroids valued with the given prices, like {@link #findWorthAtLeast(long, Map)}.
+     * The asteroids are walked in id order from the cursor and each one is valued with a lookup of its resources by
+     * primary key, until the page is full. Without an index on the value, a high minimum value still has to walk
+     * past all cheaper asteroids.
+     */
+    @Override
+    default List<Asteroid> findWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices, long afterId, int limit) {
+        return findWorthAtLeastPrices(minTotalValue, MarketPricesJson.toJson(prices), afterId, limit);
+    }
+
+    @Query(value = """
+        WITH p AS MATERIALIZED (
+            SELECT key AS resource_type, CAST(value AS BIGINT) AS price FROM jsonb_each_text(CAST(:prices AS jsonb))
+        )
+        SELECT a.id, a.name, a.risk_profile, a.distance, r.resource_type, r.amount
+        FROM (
+            SELECT * FROM asteroids s
+            WHERE s.id > :afterId AND (:minTotalValue <= 0 OR (
+                SELECT SUM(v.amount * p.price) FROM asteroid_resource v
+                JOIN p ON p.resource_type = v.resource_type
+                WHERE v.asteroid_id = s.id
+            ) >= :minTotalValue)
+            ORDER BY s.id
+            LIMIT :limit
+        ) a
+        LEFT JOIN asteroid_resource r ON r.asteroid_id = a.id
+        ORDER BY a.id
+    """, resultSetExtractorClass = AsteroidResultSetExtractor.class)
+    List<Asteroid> findWorthAtLeastPrices(long minTotalValue, String prices, long afterId, int limit);
+
+    // The stream, batch and statistics methods are redeclared to replace the defaults of the AsteroidRepository with the fragments.
+
+    @Override
+    Stream<Asteroid> streamAll();
+
+    @Override
+    Stream<Asteroid> streamInRange(double maxDistance);
+
+    @Override
+    Stream<Asteroid> streamWithResources(Set<ResourceType> resources);
+
+    @Override
+    Stream<Asteroid> streamWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices);
+
+    @Override
+    Stream<String> streamNames();
+
+    @Override
+    List<Asteroid> saveAll(List<Asteroid> asteroids);
+
+    @Override
+    long importAll(Iterator<Asteroid> asteroids);
+
+    @Override
+    AsteroidStatistics statistics();
 }
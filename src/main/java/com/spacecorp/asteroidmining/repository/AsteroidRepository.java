@@ -1,10 +1,16 @@
 package com.spacecorp.asteroidmining.repository;
 
 import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.AsteroidStatistics;
 import com.spacecorp.asteroidmining.domain.ResourceType;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Interface for managing the abstraction of asteroid data storage.
@@ -23,13 +29,30 @@ import java.util.Optional;
  * focused specifically on Asteroid entities, clients are not forced to
  * depend on methods for other domain objects.</li>
  * </ul>
+ * <p>
+ * The paged query methods use keyset pagination: they return asteroids ordered by id, starting
+ * after the given id, with at most {@code limit} results. Their cost depends on the page size,
+ * not on the position of the page in the catalog.
+ * </p>
  */
 public interface AsteroidRepository {
+    /**
+     * Number of asteroids the default {@link #importAll(Iterator)} saves with one {@link #saveAll(List)}.
+     */
+    int IMPORT_CHUNK_SIZE = 10_000;
+
     /**
      * @return a list of all asteroids currently in the system.
      */
     List<Asteroid> findAll();
 
+    /**
+     * @param afterId only asteroids with a greater id are returned (0 for the first page).
+     * @param limit   maximum number of asteroids.
+     * @return the next page of all asteroids, ordered by id.
+     */
+    List<Asteroid> findPage(long afterId, int limit);
+
     /**
      * @param id unique identifier.
      * @return an Optional containing the result.
@@ -42,17 +65,207 @@ public interface AsteroidRepository {
      */
     Optional<Asteroid> findByName(String name);
 
+    /**
+     * Checks whether a name is already taken, e.g. before a generated asteroid is saved.
+     * <p>
+     * Names are not unique, so implementations must not fail if several asteroids share the name.
+     * The default implementation uses {@link #findByName(String)}.
+     * </p>
+     *
+     * @param name exact name of the asteroid.
+     * @return {@code true} if at least one asteroid has this name.
+     */
+    default boolean existsByName(String name) {
+        return findByName(name).isPresent();
+    }
+
     /**
      * @param maxDistance maximum light years.
      * @return asteroids within this range.
      */
     List<Asteroid> findInRange(double maxDistance);
 
+    /**
+     * @param maxDistance maximum light years.
+     * @param afterId     only asteroids with a greater id are returned (0 for the first page).
+     * @param limit       maximum number of asteroids.
+     * @return the next page of asteroids within this range, ordered by id.
+     */
+    List<Asteroid> findInRange(double maxDistance, long afterId, int limit);
+
     /**
      * @param resource the required material.
      * @return asteroids containing this resource.
      */
     List<Asteroid> findWithResource(ResourceType resource);
 
+    /**
+     * @param resources the required materials.
+     * @return asteroids containing all of these resources, or all asteroids if the set is empty.
+     */
+    List<Asteroid> findWithResources(Set<ResourceType> resources);
+
+    /**
+     * @param resources the required materials.
+     * @param afterId   only asteroids with a greater id are returned (0 for the first page).
+     * @param limit     maximum number of asteroids.
+     * @return the next page of asteroids containing all of these resources, ordered by id.
+     */
+    List<Asteroid> findWithResources(Set<ResourceType> resources, long afterId, int limit);
+
+    /**
+     * Finds all asteroids whose resources are worth at least the given value.
+     * <p>
+     * The default implementation values every asteroid of {@link #findAll()}.
+     * Implementations should override it with an index or a query.
+     * </p>
+     *
+     * @param minTotalValue the minimum total value in credits.
+     * @param prices        the current price per unit of each resource type.
+     * @return asteroids with a {@link Asteroid#totalValue(Map) total value} of at least {@code minTotalValue}.
+     */
+    default List<Asteroid> findWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices) {
+        return findAll().stream()
+                .filter(asteroid -> asteroid.totalValue(prices) >= minTotalValue)
+                .toList();
+    }
+
+    /**
+     * Finds the next page of asteroids whose resources are worth at least the given value.
+     * <p>
+     * The default implementation values the asteroids page by page until the requested page is full.
+     * Implementations should override it with an index or a query.
+     * </p>
+     *
+     * @param minTotalValue the minimum total value in credits.
+     * @param prices        the current price per unit of each resource type.
+     * @param afterId       only asteroids with a greater id are returned (0 for the first page).
+     * @param limit         maximum number of asteroids.
+     * @return the next page of matching asteroids, ordered by id.
+     */
+    default List<Asteroid> findWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices, long afterId, int limit) {
+        List<Asteroid> page = new ArrayList<>();
+        long cursor = afterId;
+        while (page.size() < limit) {
+            List<Asteroid> candidates = findPage(cursor, limit);
+            for (Asteroid candidate : candidates) {
+                if (candidate.totalValue(prices) >= minTotalValue && page.size() < limit) {
+                    page.add(candidate);
+                }
+            }
+            if (candidates.size() < limit) {
+                break;
+            }
+            cursor = candidates.getLast().id();
+        }
+        return page;
+    }
+
+    /**
+     * Streams all asteroids, so that large results can be processed without holding them in memory at once.
+     * <p>
+     * The streams of this repository may hold resources such as a database cursor and must be closed after use.
+     * The default implementations stream the result lists, which suits stores whose lists are views of the stored data.
+     * </p>
+     *
+     * @return a stream of all asteroids, ordered by id.
+     */
+    default Stream<Asteroid> streamAll() {
+        return findAll().stream();
+    }
+
+    /**
+     * @param maxDistance maximum light years.
+     * @return a stream of the asteroids within this range.
+     */
+    default Stream<Asteroid> streamInRange(double maxDistance) {
+        return findInRange(maxDistance).stream();
+    }
+
+    /**
+     * @param resources the required materials.
+     * @return a stream of the asteroids containing all of these resources, or of all asteroids if the set is empty.
+     */
+    default Stream<Asteroid> streamWithResources(Set<ResourceType> resources) {
+        return findWithResources(resources).stream();
+    }
+
+    /**
+     * @param minTotalValue the minimum total value in credits.
+     * @param prices        the current price per unit of each resource type.
+     * @return a stream of the asteroids with a total value of at least {@code minTotalValue}.
+     */
+    default Stream<Asteroid> streamWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices) {
+        return findWorthAtLeast(minTotalValue, prices).stream();
+    }
+
+    /**
+     * Streams the names of all asteroids, e.g. to build an index of the taken names at startup.
+     * <p>
+     * The default implementation maps {@link #streamAll()}. Implementations should only read the names.
+     * </p>
+     *
+     * @return a stream of the names of all asteroids.
+     */
+    default Stream<String> streamNames() {
+        return streamAll().map(Asteroid::name);
+    }
+
+    /**
+     * Aggregates the whole catalog.
+     * <p>
+     * The default implementation streams all asteroids. Implementations should maintain the aggregates
+     * while saving or let their storage compute them.
+     * </p>
+     *
+     * @return the statistics of all asteroids currently in the system.
+     */
+    default AsteroidStatistics statistics() {
+        CatalogStatistics statistics = new CatalogStatistics();
+        try (Stream<Asteroid> asteroids = streamAll()) {
+            asteroids.forEach(statistics::add);
+        }
+        return statistics.snapshot();
+    }
+
     Asteroid save(Asteroid asteroid);
+
+    /**
+     * Saves several asteroids at once.
+     * <p>
+     * The default implementation saves the asteroids one by one.
+     * Implementations should override it with a batch operation.
+     * </p>
+     *
+     * @param asteroids the asteroids to save.
+     * @return the saved asteroids with their ids, in the given order.
+     */
+    default List<Asteroid> saveAll(List<Asteroid> asteroids) {
+        return asteroids.stream().map(this::save).toList();
+    }
+
+    /**
+     * Saves all asteroids of a catalog while it is read, e.g. from an uploaded file.
+     * <p>
+     * The asteroids get new ids, the ids of the imported asteroids are ignored.
+     * The default implementation saves chunks of {@value #IMPORT_CHUNK_SIZE} asteroids with {@link #saveAll(List)},
+     * so only one chunk is held in memory no matter how large the catalog is.
+     * If reading the catalog fails, the chunks saved so far are kept.
+     * </p>
+     *
+     * @param asteroids the asteroids to save, read while they are saved.
+     * @return the number of saved asteroids.
+     */
+    default long importAll(Iterator<Asteroid> asteroids) {
+        long imported = 0;
+        List<Asteroid> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        while (asteroids.hasNext()) {
+            chunk.add(asteroids.next());
+            if (chunk.size() == IMPORT_CHUNK_SIZE || !asteroids.hasNext()) {
+                imported += saveAll(chunk).size();
+                chunk.clear();
+            }
+        }
+        return imported;
+    }
 }
@@ -0,0 +1,49 @@
+package com.spacecorp.asteroidmining.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decorates the active {@link AsteroidRepository}, whichever profile provides it, with a {@link CachingAsteroidRepository}.
+ * <p>
+ * The hit, miss and eviction counters of the caches are published as the {@code cache.*} metrics
+ * with the cache names {@code asteroidsById} and {@code asteroidsByName} (e.g. {@code /actuator/metrics/cache.gets}).
+ * </p>
+ * <p>This component is only loaded if the property {@code asteroid.repository.cache.enabled}
+ * is set to {@code true}, which the {@code postgres} profile does by default.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "asteroid.repository.cache.enabled", havingValue = "true")
+public class AsteroidRepositoryCachePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long maximumSize;
+
+    /**
+     * @param meterRegistry resolved lazily, since post-processors are created before the other beans.
+     */
+    public AsteroidRepositoryCachePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${asteroid.repository.cache.maximum-size:10000}") long maximumSize) {
+        this.meterRegistry = meterRegistry;
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof AsteroidRepository repository) || bean instanceof CachingAsteroidRepository) {
+            return bean;
+        }
+        var cachingRepository = new CachingAsteroidRepository(repository, maximumSize);
+        meterRegistry.ifAvailable(registry -> {
+            CaffeineCacheMetrics.monitor(registry, cachingRepository.asteroidsById(), "asteroidsById");
+            CaffeineCacheMetrics.monitor(registry, cachingRepository.asteroidsByName(), "asteroidsByName");
+        });
+        return cachingRepository;
+    }
+}
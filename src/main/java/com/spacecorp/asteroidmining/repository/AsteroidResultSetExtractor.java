@@ -0,0 +1,30 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds complete asteroids, including their resources, from a single join query.
+ * <p>
+ * Used by the queries of the {@link AsteroidJdbcRepository}, so a result is loaded with one round trip.
+ * Without it, Spring Data JDBC would load the resources of every asteroid with a separate query.
+ * The query must meet the requirements of the {@link AsteroidRowReader}.
+ * </p>
+ */
+public class AsteroidResultSetExtractor implements ResultSetExtractor<List<Asteroid>> {
+
+    @Override
+    public List<Asteroid> extractData(ResultSet rows) throws SQLException {
+        List<Asteroid> asteroids = new ArrayList<>();
+        AsteroidRowReader reader = new AsteroidRowReader(rows);
+        while (reader.hasNext()) {
+            asteroids.add(reader.next());
+        }
+        return asteroids;
+    }
+}
@@ -0,0 +1,57 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.ResourceType;
+import com.spacecorp.asteroidmining.domain.RiskProfile;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Reads asteroids from the rows of a join of {@code asteroids} with {@code asteroid_resource}.
+ * <p>
+ * The join has one row per resource of an asteroid (or a single row without a resource). The rows must
+ * be ordered by the asteroid id, so that all rows of an asteroid are consecutive and an asteroid is
+ * complete as soon as the next one starts. The expected columns are {@code id}, {@code name},
+ * {@code risk_profile}, {@code distance}, {@code resource_type} and {@code amount}.
+ * </p>
+ */
+final class AsteroidRowReader {
+
+    private final ResultSet rows;
+    private boolean hasRow;
+
+    /**
+     * @param rows a result set positioned before its first row.
+     */
+    AsteroidRowReader(ResultSet rows) throws SQLException {
+        this.rows = rows;
+        this.hasRow = rows.next();
+    }
+
+    boolean hasNext() {
+        return hasRow;
+    }
+
+    /**
+     * Reads all rows of the next asteroid.
+     */
+    Asteroid next() throws SQLException {
+        long id = rows.getLong("id");
+        String name = rows.getString("name");
+        RiskProfile riskProfile = RiskProfile.valueOf(rows.getString("risk_profile"));
+        double distance = rows.getDouble("distance");
+        Map<ResourceType, Asteroid.ResourceAmount> resources = new EnumMap<>(ResourceType.class);
+        do {
+            String resourceType = rows.getString("resource_type");
+            if (resourceType != null) {
+                resources.put(ResourceType.valueOf(resourceType), new Asteroid.ResourceAmount(rows.getInt("amount")));
+            }
+            hasRow = rows.next();
+        } while (hasRow && rows.getLong("id") == id);
+
+        return new Asteroid(id, name, riskProfile, resources, distance);
+    }
+}
@@ -0,0 +1,14 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.AsteroidStatistics;
+
+/**
+ * Repository fragment that lets PostgreSQL aggregate the catalog with {@code GROUP BY} queries,
+ * so only a few rows per statistic are transferred instead of the whole catalog.
+ *
+ * @see AsteroidStatisticsRepositoryImpl
+ */
+public interface AsteroidStatisticsRepository {
+
+    AsteroidStatistics statistics();
+}
@@ -0,0 +1,78 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.AsteroidStatistics;
+import com.spacecorp.asteroidmining.domain.AsteroidStatistics.ResourceStatistics;
+import com.spacecorp.asteroidmining.domain.ResourceType;
+import com.spacecorp.asteroidmining.domain.RiskProfile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Computes the catalog statistics with one aggregate query per statistic.
+ * <p>
+ * The counts per risk profile and per distance interval scan the {@code asteroids} table,
+ * the resource statistics scan the {@code asteroid_resource} table. Every query returns at most one row per group.
+ * </p>
+ * <p>
+ * The queries only agree with each other if they read the same snapshot, so they must run in one
+ * {@code REPEATABLE READ} transaction, which {@link com.spacecorp.asteroidmining.service.AsteroidService#getStatistics()}
+ * starts.
+ * </p>
+ */
+public class AsteroidStatisticsRepositoryImpl implements AsteroidStatisticsRepository {
+
+    private static final String COUNT_BY_RISK_PROFILE = """
+        SELECT risk_profile, COUNT(*) AS asteroids FROM asteroids GROUP BY risk_profile
+        """;
+    private static final String AGGREGATE_BY_RESOURCE = """
+        SELECT resource_type, COUNT(*) AS asteroids, SUM(amount) AS total, MAX(amount) AS maximum
+        FROM asteroid_resource
+        GROUP BY resource_type
+        """;
+    // Must assign the intervals like AsteroidStatistics.distanceBucket. The interval is clamped before the cast,
+    // so distances beyond the integer range land in the last interval.
+    private static final String COUNT_BY_DISTANCE_BUCKET = """
+        SELECT CAST(LEAST(GREATEST(FLOOR(distance / ?), 0), ?) AS INTEGER) AS bucket, COUNT(*) AS asteroids
+        FROM asteroids
+        GROUP BY bucket
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AsteroidStatisticsRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public AsteroidStatistics statistics() {
+        Map<RiskProfile, Long> riskProfiles = new EnumMap<>(RiskProfile.class);
+        for (RiskProfile riskProfile : RiskProfile.values()) {
+            riskProfiles.put(riskProfile, 0L);
+        }
+        long[] asteroidCount = new long[1];
+        jdbcTemplate.query(COUNT_BY_RISK_PROFILE, row -> {
+            long asteroids = row.getLong("asteroids");
+            asteroidCount[0] += asteroids;
+            riskProfiles.put(RiskProfile.valueOf(row.getString("risk_profile")), asteroids);
+        });
+
+        Map<ResourceType, ResourceStatistics> resources = new EnumMap<>(ResourceType.class);
+        for (ResourceType resource : ResourceType.values()) {
+            resources.put(resource, ResourceStatistics.of(0, 0, 0));
+        }
+        jdbcTemplate.query(AGGREGATE_BY_RESOURCE, row -> {
+            resources.put(ResourceType.valueOf(row.getString("resource_type")), ResourceStatistics.of(
+                    row.getLong("asteroids"), row.getLong("total"), row.getLong("maximum")));
+        });
+
+        long[] distanceCounts = new long[AsteroidStatistics.DISTANCE_BUCKET_COUNT];
+        jdbcTemplate.query(COUNT_BY_DISTANCE_BUCKET, row -> {
+            distanceCounts[row.getInt("bucket")] = row.getLong("asteroids");
+        }, AsteroidStatistics.DISTANCE_BUCKET_WIDTH, AsteroidStatistics.DISTANCE_BUCKET_COUNT - 1);
+
+        return new AsteroidStatistics(asteroidCount[0], resources, riskProfiles,
+                AsteroidStatistics.distanceHistogram(distanceCounts));
+    }
+}
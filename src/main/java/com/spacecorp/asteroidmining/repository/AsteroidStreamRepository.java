@@ -0,0 +1,31 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.ResourceType;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Repository fragment that streams asteroids from the database through a server-side cursor.
+ * <p>
+ * Spring Data JDBC would load a complete result before returning it, and fetch the resources of every
+ * asteroid with a separate query. This fragment reads a single ordered join in batches instead, so the
+ * memory needed for an export does not grow with the size of the result.
+ * </p>
+ *
+ * @see AsteroidStreamRepositoryImpl
+ */
+public interface AsteroidStreamRepository {
+
+    Stream<Asteroid> streamAll();
+
+    Stream<Asteroid> streamInRange(double maxDistance);
+
+    Stream<Asteroid> streamWithResources(Set<ResourceType> resources);
+
+    Stream<Asteroid> streamWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices);
+
+    Stream<String> streamNames();
+}
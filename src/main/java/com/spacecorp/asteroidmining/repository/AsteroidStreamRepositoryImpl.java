@@ -0,0 +1,208 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.ResourceType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams asteroids from PostgreSQL with a server-side cursor.
+ * <p>
+ * The PostgreSQL driver only fetches a result in batches of the configured fetch size if auto-commit is
+ * disabled, so every stream runs in its own read-only transaction on a dedicated connection. The
+ * connection is released when the stream is closed. The asteroids and their resources are read with one
+ * join ordered by id, which the {@link AsteroidRowReader} combines into one record per asteroid.
+ * </p>
+ */
+public class AsteroidStreamRepositoryImpl implements AsteroidStreamRepository {
+
+    private static final String SELECT_WITH_RESOURCES = """
+        SELECT a.id, a.name, a.risk_profile, a.distance, r.resource_type, r.amount
+        FROM asteroids a
+        LEFT JOIN asteroid_resource r ON r.asteroid_id = a.id
+        """;
+    private static final String ORDER_BY_ID = " ORDER BY a.id";
+
+    private final DataSource dataSource;
+    private final int fetchSize;
+    private final SQLExceptionTranslator exceptionTranslator = new SQLStateSQLExceptionTranslator();
+
+    public AsteroidStreamRepositoryImpl(DataSource dataSource,
+                                        @Value("${asteroid.repository.jdbc.stream-fetch-size:500}") int fetchSize) {
+        this.dataSource = dataSource;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Stream<Asteroid> streamAll() {
+        return stream(SELECT_WITH_RESOURCES + ORDER_BY_ID, statement -> {
+        });
+    }
+
+    @Override
+    public Stream<Asteroid> streamInRange(double maxDistance) {
+        return stream(SELECT_WITH_RESOURCES + "WHERE a.distance <= CAST(? AS NUMERIC)" + ORDER_BY_ID,
+                statement -> statement.setDouble(1, maxDistance));
+    }
+
+    @Override
+    public Stream<Asteroid> streamWithResources(Set<ResourceType> resources) {
+        if (resources.isEmpty()) {
+            return streamAll();
+        }
+        String sql = SELECT_WITH_RESOURCES + """
+            WHERE a.id IN (
+                SELECT asteroid_id FROM asteroid_resource
+                WHERE resource_type = ANY (?)
+                GROUP BY asteroid_id
+                HAVING COUNT(*) = ?
+            )""" + ORDER_BY_ID;
+        return stream(sql, statement -> {
+            String[] resourceNames = resources.stream().map(Enum::name).toArray(String[]::new);
+            statement.setArray(1, statement.getConnection().createArrayOf("varchar", resourceNames));
+            statement.setInt(2, resources.size());
+        });
+    }
+
+    /**
+     * Values the asteroids inside the database with the given prices, like
+     * {@link AsteroidJdbcRepository#findWorthAtLeast(long, Map)}, so only the profitable asteroids are streamed.
+     */
+    @Override
+    public Stream<Asteroid> streamWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices) {
+        String sql = SELECT_WITH_RESOURCES + """
+            WHERE ? <= 0 OR a.id IN (
+                SELECT v.asteroid_id FROM asteroid_resource v
+                JOIN jsonb_each_text(CAST(? AS jsonb)) p ON p.key = v.resource_type
+                GROUP BY v.asteroid_id
+                HAVING SUM(v.amount * CAST(p.value AS BIGINT)) >= ?
+            )""" + ORDER_BY_ID;
+        return stream(sql, statement -> {
+            statement.setLong(1, minTotalValue);
+            statement.setString(2, MarketPricesJson.toJson(prices));
+            statement.setLong(3, minTotalValue);
+        });
+    }
+
+    /**
+     * Reads only the name column, so building an index of the taken names transfers no resources.
+     */
+    @Override
+    public Stream<String> streamNames() {
+        return stream("SELECT name FROM asteroids", statement -> {
+        }, NameSpliterator::new);
+    }
+
+    private Stream<Asteroid> stream(String sql, ParameterSetter parameters) {
+        return stream(sql, parameters, AsteroidSpliterator::new);
+    }
+
+    private <T> Stream<T> stream(String sql, ParameterSetter parameters, SpliteratorFactory<T> spliterators) {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            parameters.set(statement);
+            ResultSet rows = statement.executeQuery();
+            Connection streamConnection = connection;
+            return StreamSupport.stream(spliterators.create(rows), false)
+                    .onClose(() -> release(streamConnection));
+        } catch (SQLException ex) {
+            if (connection != null) {
+                release(connection);
+            }
+            throw exceptionTranslator.translate("Streaming asteroids", sql, ex);
+        }
+    }
+
+    /**
+     * Ends the read-only transaction and returns the connection to the pool. Closing the connection
+     * also closes the statement and the result set.
+     */
+    private void release(Connection connection) {
+        try (connection) {
+            connection.rollback();
+            connection.setReadOnly(false);
+            connection.setAutoCommit(true);
+        } catch (SQLException ex) {
+            throw exceptionTranslator.translate("Releasing the streaming connection", null, ex);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ParameterSetter {
+        void set(PreparedStatement statement) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface SpliteratorFactory<T> {
+        Spliterator<T> create(ResultSet rows) throws SQLException;
+    }
+
+    /**
+     * Reads one asteroid from the rows of the ordered join per advance.
+     */
+    private final class AsteroidSpliterator extends Spliterators.AbstractSpliterator<Asteroid> {
+        private final AsteroidRowReader reader;
+
+        AsteroidSpliterator(ResultSet rows) throws SQLException {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.reader = new AsteroidRowReader(rows);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Asteroid> action) {
+            if (!reader.hasNext()) {
+                return false;
+            }
+            try {
+                action.accept(reader.next());
+                return true;
+            } catch (SQLException ex) {
+                throw exceptionTranslator.translate("Reading streamed asteroids", null, ex);
+            }
+        }
+    }
+
+    /**
+     * Reads one name per row.
+     */
+    private final class NameSpliterator extends Spliterators.AbstractSpliterator<String> {
+        private final ResultSet rows;
+
+        NameSpliterator(ResultSet rows) {
+            super(Long.MAX_VALUE, Spliterator.NONNULL);
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            try {
+                if (!rows.next()) {
+                    return false;
+                }
+                action.accept(rows.getString(1));
+                return true;
+            } catch (SQLException ex) {
+                throw exceptionTranslator.translate("Reading streamed names", null, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.AsteroidStatistics;
+import com.spacecorp.asteroidmining.domain.ResourceType;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Decorator that serves lookups by id and by name from bounded in-memory caches.
+ * <p>
+ * Asteroids are never modified after they were saved, so cached entries never become stale and need
+ * no invalidation. The caches are filled by lookups, and the id cache additionally by saves, so a newly
+ * discovered asteroid can be read without a round trip. Names are not unique and the decorated repository
+ * decides which asteroid a name lookup returns, so the name cache is only filled by lookups.
+ * Missing asteroids are not cached, since they may be saved later.
+ * </p>
+ * <p>
+ * Both caches are bounded by their maximum size and evict with Caffeine's W-TinyLFU policy, which keeps
+ * frequently requested asteroids even when many asteroids are only requested once.
+ * All other queries are passed through unchanged.
+ * </p>
+ *
+ * @see AsteroidRepositoryCachePostProcessor
+ */
+public class CachingAsteroidRepository implements AsteroidRepository {
+
+    private final AsteroidRepository delegate;
+    private final Cache<Long, Asteroid> asteroidsById;
+    private final Cache<String, Asteroid> asteroidsByName;
+
+    /**
+     * @param delegate    the repository whose lookups are cached.
+     * @param maximumSize the maximum number of asteroids in each cache.
+     */
+    public CachingAsteroidRepository(AsteroidRepository delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.asteroidsById = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+        this.asteroidsByName = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    Cache<Long, Asteroid> asteroidsById() {
+        return asteroidsById;
+    }
+
+    Cache<String, Asteroid> asteroidsByName() {
+        return asteroidsByName;
+    }
+
+    @Override
+    public Optional<Asteroid> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(asteroidsById.get(id, key -> delegate.findById(key).orElse(null)));
+    }
+
+    @Override
+    public Optional<Asteroid> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(asteroidsByName.get(name, key -> delegate.findByName(key).orElse(null)));
+    }
+
+    /**
+     * A cached name is known to be taken, so only unknown names are checked by the decorated repository.
+     */
+    @Override
+    public boolean existsByName(String name) {
+        if (name == null) {
+            return false;
+        }
+        return asteroidsByName.getIfPresent(name) != null || delegate.existsByName(name);
+    }
+
+    @Override
+    public Asteroid save(Asteroid asteroid) {
+        Asteroid saved = delegate.save(asteroid);
+        asteroidsById.put(saved.id(), saved);
+        return saved;
+    }
+
+    @Override
+    public List<Asteroid> saveAll(List<Asteroid> asteroids) {
+        List<Asteroid> saved = delegate.saveAll(asteroids);
+        saved.forEach(asteroid -> asteroidsById.put(asteroid.id(), asteroid));
+        return saved;
+    }
+
+    /**
+     * Imports bypass the caches, so a large catalog does not evict the asteroids that are actually requested.
+     */
+    @Override
+    public long importAll(Iterator<Asteroid> asteroids) {
+        return delegate.importAll(asteroids);
+    }
+
+    @Override
+    public List<Asteroid> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Asteroid> findPage(long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public List<Asteroid> findInRange(double maxDistance) {
+        return delegate.findInRange(maxDistance);
+    }
+
+    @Override
+    public List<Asteroid> findInRange(double maxDistance, long afterId, int limit) {
+        return delegate.findInRange(maxDistance, afterId, limit);
+    }
+
+    @Override
+    public List<Asteroid> findWithResource(ResourceType resource) {
+        return delegate.findWithResource(resource);
+    }
+
+    @Override
+    public List<Asteroid> findWithResources(Set<ResourceType> resources) {
+        return delegate.findWithResources(resources);
+    }
+
+    @Override
+    public List<Asteroid> findWithResources(Set<ResourceType> resources, long afterId, int limit) {
+        return delegate.findWithResources(resources, afterId, limit);
+    }
+
+    @Override
+    public List<Asteroid> findWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices) {
+        return delegate.findWorthAtLeast(minTotalValue, prices);
+    }
+
+    @Override
+    public List<Asteroid> findWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices, long afterId, int limit) {
+        return delegate.findWorthAtLeast(minTotalValue, prices, afterId, limit);
+    }
+
+    @Override
+    public AsteroidStatistics statistics() {
+        return delegate.statistics();
+    }
+
+    @Override
+    public Stream<Asteroid> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public Stream<Asteroid> streamInRange(double maxDistance) {
+        return delegate.streamInRange(maxDistance);
+    }
+
+    @Override
+    public Stream<Asteroid> streamWithResources(Set<ResourceType> resources) {
+        return delegate.streamWithResources(resources);
+    }
+
+    @Override
+    public Stream<Asteroid> streamWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices) {
+        return delegate.streamWorthAtLeast(minTotalValue, prices);
+    }
+
+    @Override
+    public Stream<String> streamNames() {
+        return delegate.streamNames();
+    }
+}
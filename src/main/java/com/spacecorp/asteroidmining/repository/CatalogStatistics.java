@@ -0,0 +1,92 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.AsteroidStatistics;
+import com.spacecorp.asteroidmining.domain.AsteroidStatistics.ResourceStatistics;
+import com.spacecorp.asteroidmining.domain.ResourceType;
+import com.spacecorp.asteroidmining.domain.RiskProfile;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running aggregates of a catalog, updated with every saved asteroid.
+ * <p>
+ * The in-process repositories add each asteroid when they store it, so reading the statistics only sums
+ * a fixed number of counters, independent of the size of the catalog. The counters are striped
+ * {@link LongAdder}s and {@link LongAccumulator}s, so they can be updated and read without a lock.
+ * A snapshot taken during a save may already include parts of the asteroid being saved.
+ * </p>
+ */
+class CatalogStatistics {
+
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+    private static final RiskProfile[] RISK_PROFILES = RiskProfile.values();
+
+    private final LongAdder asteroidCount = new LongAdder();
+    private final LongAdder[] resourceAsteroidCounts = adders(RESOURCE_TYPES.length);
+    private final LongAdder[] resourceTotals = adders(RESOURCE_TYPES.length);
+    private final LongAccumulator[] resourceMaxima = new LongAccumulator[RESOURCE_TYPES.length];
+    private final LongAdder[] riskProfileCounts = adders(RISK_PROFILES.length);
+    private final LongAdder[] distanceBucketCounts = adders(AsteroidStatistics.DISTANCE_BUCKET_COUNT);
+
+    CatalogStatistics() {
+        for (int i = 0; i < resourceMaxima.length; i++) {
+            resourceMaxima[i] = new LongAccumulator(Math::max, 0);
+        }
+    }
+
+    void add(Asteroid asteroid) {
+        addAsteroid(asteroid.distanceInLightYears(), asteroid.riskProfile());
+        if (asteroid.resources() != null) {
+            asteroid.resources().forEach((resource, amount) -> addResource(resource, amount.amount()));
+        }
+    }
+
+    /**
+     * Adds the attributes of an asteroid except its resources, which are added with {@link #addResource}.
+     */
+    void addAsteroid(double distanceInLightYears, RiskProfile riskProfile) {
+        asteroidCount.increment();
+        if (riskProfile != null) {
+            riskProfileCounts[riskProfile.ordinal()].increment();
+        }
+        distanceBucketCounts[AsteroidStatistics.distanceBucket(distanceInLightYears)].increment();
+    }
+
+    void addResource(ResourceType resource, int amount) {
+        int ordinal = resource.ordinal();
+        resourceAsteroidCounts[ordinal].increment();
+        resourceTotals[ordinal].add(amount);
+        resourceMaxima[ordinal].accumulate(amount);
+    }
+
+    AsteroidStatistics snapshot() {
+        Map<ResourceType, ResourceStatistics> resources = new EnumMap<>(ResourceType.class);
+        for (ResourceType resource : RESOURCE_TYPES) {
+            int ordinal = resource.ordinal();
+            resources.put(resource, ResourceStatistics.of(resourceAsteroidCounts[ordinal].sum(),
+                    resourceTotals[ordinal].sum(), resourceMaxima[ordinal].get()));
+        }
+        Map<RiskProfile, Long> riskProfiles = new EnumMap<>(RiskProfile.class);
+        for (RiskProfile riskProfile : RISK_PROFILES) {
+            riskProfiles.put(riskProfile, riskProfileCounts[riskProfile.ordinal()].sum());
+        }
+        long[] distanceCounts = new long[distanceBucketCounts.length];
+        for (int bucket = 0; bucket < distanceCounts.length; bucket++) {
+            distanceCounts[bucket] = distanceBucketCounts[bucket].sum();
+        }
+        return new AsteroidStatistics(asteroidCount.sum(), resources, riskProfiles,
+                AsteroidStatistics.distanceHistogram(distanceCounts));
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
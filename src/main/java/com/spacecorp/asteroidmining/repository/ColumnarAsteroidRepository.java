@@ -0,0 +1,372 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.AsteroidStatistics;
+import com.spacecorp.asteroidmining.domain.ResourceType;
+import com.spacecorp.asteroidmining.domain.RiskProfile;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Columnar (struct-of-arrays) in-memory implementation of the {@link AsteroidRepository}.
+ * <p>
+ * Instead of keeping one {@link Asteroid} record with a map of boxed resource amounts per asteroid,
+ * every attribute is stored in its own primitive array. This takes a few dozen bytes per asteroid,
+ * so tens of millions of asteroids fit into a single heap, and scans only touch the columns they filter on.
+ * {@link Asteroid} records are only built when results leave the repository.
+ * </p>
+ * <b>Storage layout:</b>
+ * <ul>
+ * <li><b>Ids:</b> not stored at all. Ids are assigned sequentially, so the id of an asteroid is its slot + 1.</li>
+ * <li><b>Distance:</b> {@code double[]}.</li>
+ * <li><b>Risk profile:</b> {@code byte[]} holding the ordinal of the {@link RiskProfile}.</li>
+ * <li><b>Resources:</b> a {@code byte[]} bit mask of the present resource types plus an {@code int[]} of
+ * amounts indexed by slot &times; {@link ResourceType#ordinal()}.</li>
+ * <li><b>Names:</b> UTF-8 bytes packed into one arena, addressed by offset and length per slot.</li>
+ * </ul>
+ * <p>
+ * Filters and filtered pages scan the columns from the cursor and stop as soon as the page is full, but this engine
+ * keeps no secondary indexes: a selective filter may scan the whole rest of the catalog for a single page.
+ * The default in-memory engine and PostgreSQL answer selective filters from indexes instead.
+ * </p>
+ * <p>
+ * Writes are serialized. Readers never lock: they read the published size first and only look at
+ * slots below it. Every slot below the published size is completely written and never changes again.
+ * </p>
+ * <p>
+ * Note: We use {@link Profile} to activate this implementation only with the 'columnar' profile.
+ * </p>
+ */
+@Repository
+@Profile("columnar")
+public class ColumnarAsteroidRepository implements AsteroidRepository {
+
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+    private static final RiskProfile[] RISK_PROFILES = RiskProfile.values();
+    private static final int RESOURCE_COUNT = RESOURCE_TYPES.length;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NULL_NAME = -1;
+    private static final byte NULL_RISK_PROFILE = -1;
+
+    /**
+     * Current set of columns. Replaced by the writer whenever a column has to grow.
+     */
+    private volatile Columns columns = new Columns(INITIAL_CAPACITY, INITIAL_CAPACITY * 16);
+    /**
+     * Number of completely written slots. Readers must read this before {@link #columns}.
+     */
+    private volatile int size;
+    private final SlotNameIndex nameIndex = new SlotNameIndex(INITIAL_CAPACITY);
+    private int nameArenaLength;
+    private final CatalogStatistics statistics = new CatalogStatistics();
+    /**
+     * Serializes writers without pinning the carrier thread of waiting virtual threads.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Initializes the repository with hardcoded sample data (Bootstrapping).
+     */
+    public ColumnarAsteroidRepository() {
+        SampleAsteroids.CATALOG.forEach(this::save);
+    }
+
+    @Override
+    public List<Asteroid> findAll() {
+        int snapshotSize = size;
+        return SlotList.range(0, snapshotSize, columns::toAsteroid);
+    }
+
+    @Override
+    public List<Asteroid> findPage(long afterId, int limit) {
+        int snapshotSize = size;
+        int from = SlotList.firstSlotAfter(afterId, snapshotSize);
+        int to = (int) Math.min((long) from + limit, snapshotSize);
+        return SlotList.range(from, to, columns::toAsteroid);
+    }
+
+    @Override
+    public Optional<Asteroid> findById(Long id) {
+        int snapshotSize = size;
+        if (id == null || id < 1 || id > snapshotSize) {
+            return Optional.empty();
+        }
+        return Optional.of(columns.toAsteroid((int) (id - 1)));
+    }
+
+    @Override
+    public Optional<Asteroid> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        int snapshotSize = size;
+        Columns snapshot = columns;
+        int slot = nameIndex.find(name.getBytes(StandardCharsets.UTF_8), snapshotSize, snapshot::nameEquals);
+        return slot < 0 ? Optional.empty() : Optional.of(snapshot.toAsteroid(slot));
+    }
+
+    @Override
+    public List<Asteroid> findInRange(double maxDistance) {
+        return findInRange(maxDistance, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Asteroid> findInRange(double maxDistance, long afterId, int limit) {
+        int snapshotSize = size;
+        Columns snapshot = columns;
+        double[] distances = snapshot.distances;
+        SlotList matches = new SlotList();
+        for (int slot = SlotList.firstSlotAfter(afterId, snapshotSize); slot < snapshotSize && matches.size() < limit; slot++) {
+            if (distances[slot] <= maxDistance) {
+                matches.add(slot);
+            }
+        }
+        return matches.view(snapshot::toAsteroid);
+    }
+
+    @Override
+    public List<Asteroid> findWithResource(ResourceType resource) {
+        return findWithResources(EnumSet.of(resource));
+    }
+
+    @Override
+    public List<Asteroid> findWithResources(Set<ResourceType> resources) {
+        return findWithResources(resources, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Asteroid> findWithResources(Set<ResourceType> resources, long afterId, int limit) {
+        int required = resourceMask(resources);
+        int snapshotSize = size;
+        Columns snapshot = columns;
+        byte[] resourceMasks = snapshot.resourceMasks;
+        SlotList matches = new SlotList();
+        for (int slot = SlotList.firstSlotAfter(afterId, snapshotSize); slot < snapshotSize && matches.size() < limit; slot++) {
+            if ((resourceMasks[slot] & required) == required) {
+                matches.add(slot);
+            }
+        }
+        return matches.view(snapshot::toAsteroid);
+    }
+
+    /**
+     * Values the asteroids with a scan over the primitive amount column, without building records.
+     */
+    @Override
+    public List<Asteroid> findWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices) {
+        return findWorthAtLeast(minTotalValue, prices, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Asteroid> findWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices, long afterId, int limit) {
+        long[] pricePerOrdinal = new long[RESOURCE_COUNT];
+        for (ResourceType resource : RESOURCE_TYPES) {
+            pricePerOrdinal[resource.ordinal()] = prices.getOrDefault(resource, 0);
+        }
+        int snapshotSize = size;
+        Columns snapshot = columns;
+        int[] amounts = snapshot.amounts;
+        byte[] resourceMasks = snapshot.resourceMasks;
+        SlotList matches = new SlotList();
+        for (int slot = SlotList.firstSlotAfter(afterId, snapshotSize); slot < snapshotSize && matches.size() < limit; slot++) {
+            long totalValue = 0;
+            int resourceMask = resourceMasks[slot];
+            for (int ordinal = 0; ordinal < RESOURCE_COUNT; ordinal++) {
+                if ((resourceMask & (1 << ordinal)) != 0) {
+                    totalValue += pricePerOrdinal[ordinal] * amounts[slot * RESOURCE_COUNT + ordinal];
+                }
+            }
+            if (totalValue >= minTotalValue) {
+                matches.add(slot);
+            }
+        }
+        return matches.view(snapshot::toAsteroid);
+    }
+
+    /**
+     * Answered from aggregates maintained on save, so no column is scanned.
+     */
+    @Override
+    public AsteroidStatistics statistics() {
+        return statistics.snapshot();
+    }
+
+    @Override
+    public Asteroid save(Asteroid asteroid) {
+        writeLock.lock();
+        try {
+            return append(asteroid);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Asteroid> saveAll(List<Asteroid> asteroids) {
+        writeLock.lock();
+        try {
+            List<Asteroid> saved = new ArrayList<>(asteroids.size());
+            for (Asteroid asteroid : asteroids) {
+                saved.add(append(asteroid));
+            }
+            return saved;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Writes an asteroid into the next free slot. Must only be called while holding the {@link #writeLock}.
+     */
+    private Asteroid append(Asteroid asteroid) {
+        int slot = size;
+        byte[] name = asteroid.name() == null ? null : asteroid.name().getBytes(StandardCharsets.UTF_8);
+        Columns target = ensureCapacity(slot + 1, name == null ? 0 : name.length);
+
+        target.distances[slot] = asteroid.distanceInLightYears();
+        target.riskProfiles[slot] = asteroid.riskProfile() == null
+                ? NULL_RISK_PROFILE
+                : (byte) asteroid.riskProfile().ordinal();
+        byte resourceMask = 0;
+        if (asteroid.resources() != null) {
+            for (var entry : asteroid.resources().entrySet()) {
+                int ordinal = entry.getKey().ordinal();
+                resourceMask |= (byte) (1 << ordinal);
+                target.amounts[slot * RESOURCE_COUNT + ordinal] = entry.getValue().amount();
+            }
+        }
+        target.resourceMasks[slot] = resourceMask;
+        if (name == null) {
+            target.nameOffsets[slot] = 0;
+            target.nameLengths[slot] = NULL_NAME;
+        } else {
+            System.arraycopy(name, 0, target.nameArena, nameArenaLength, name.length);
+            target.nameOffsets[slot] = nameArenaLength;
+            target.nameLengths[slot] = name.length;
+            nameArenaLength += name.length;
+            nameIndex.add(slot, name, target::nameEquals);
+        }
+
+        statistics.add(asteroid);
+
+        // Publishing the new size makes the slot visible to readers.
+        size = slot + 1;
+        return asteroid.withId(slot + 1L);
+    }
+
+    /**
+     * Makes sure the columns can hold the given number of slots and name bytes, growing them by doubling.
+     * Readers holding the previous columns keep a valid snapshot, since published slots are copied as well.
+     */
+    private Columns ensureCapacity(int requiredSlots, int additionalNameBytes) {
+        Columns current = columns;
+        long requiredNameBytes = (long) nameArenaLength + additionalNameBytes;
+        if (requiredSlots <= current.capacity() && requiredNameBytes <= current.nameArena.length) {
+            return current;
+        }
+        int capacity = current.capacity();
+        while (capacity < requiredSlots) {
+            capacity = Math.multiplyExact(capacity, 2);
+        }
+        long arenaCapacity = current.nameArena.length;
+        while (arenaCapacity < requiredNameBytes) {
+            arenaCapacity *= 2;
+        }
+        if (arenaCapacity > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Name arena of the columnar repository is exhausted.");
+        }
+        Columns grown = current.copy(capacity, (int) arenaCapacity);
+        columns = grown;
+        return grown;
+    }
+
+    private static int resourceMask(Set<ResourceType> resources) {
+        int mask = 0;
+        for (ResourceType resource : resources) {
+            mask |= 1 << resource.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * The primitive columns. Array references are final, a grown set of columns is a new instance.
+     */
+    private static final class Columns {
+        final double[] distances;
+        final byte[] riskProfiles;
+        final byte[] resourceMasks;
+        final int[] amounts;
+        final int[] nameOffsets;
+        final int[] nameLengths;
+        final byte[] nameArena;
+
+        Columns(int capacity, int arenaCapacity) {
+            this(new double[capacity], new byte[capacity], new byte[capacity], new int[Math.multiplyExact(capacity, RESOURCE_COUNT)],
+                    new int[capacity], new int[capacity], new byte[arenaCapacity]);
+        }
+
+        private Columns(double[] distances, byte[] riskProfiles, byte[] resourceMasks, int[] amounts,
+                        int[] nameOffsets, int[] nameLengths, byte[] nameArena) {
+            this.distances = distances;
+            this.riskProfiles = riskProfiles;
+            this.resourceMasks = resourceMasks;
+            this.amounts = amounts;
+            this.nameOffsets = nameOffsets;
+            this.nameLengths = nameLengths;
+            this.nameArena = nameArena;
+        }
+
+        int capacity() {
+            return distances.length;
+        }
+
+        /**
+         * Copies the columns into larger arrays. Columns that are already large enough are shared.
+         */
+        Columns copy(int capacity, int arenaCapacity) {
+            boolean growSlots = capacity > capacity();
+            return new Columns(
+                    growSlots ? Arrays.copyOf(distances, capacity) : distances,
+                    growSlots ? Arrays.copyOf(riskProfiles, capacity) : riskProfiles,
+                    growSlots ? Arrays.copyOf(resourceMasks, capacity) : resourceMasks,
+                    growSlots ? Arrays.copyOf(amounts, Math.multiplyExact(capacity, RESOURCE_COUNT)) : amounts,
+                    growSlots ? Arrays.copyOf(nameOffsets, capacity) : nameOffsets,
+                    growSlots ? Arrays.copyOf(nameLengths, capacity) : nameLengths,
+                    arenaCapacity > nameArena.length ? Arrays.copyOf(nameArena, arenaCapacity) : nameArena);
+        }
+
+        boolean nameEquals(int slot, byte[] name) {
+            int offset = nameOffsets[slot];
+            int length = nameLengths[slot];
+            return length == name.length && Arrays.equals(nameArena, offset, offset + length, name, 0, name.length);
+        }
+
+        /**
+         * Builds the {@link Asteroid} record of a slot. This is the only place where records are created.
+         */
+        Asteroid toAsteroid(int slot) {
+            int length = nameLengths[slot];
+            String name = length == NULL_NAME
+                    ? null
+                    : new String(nameArena, nameOffsets[slot], length, StandardCharsets.UTF_8);
+
+            Map<ResourceType, Asteroid.ResourceAmount> resources = new EnumMap<>(ResourceType.class);
+            int resourceMask = resourceMasks[slot];
+            for (ResourceType resource : RESOURCE_TYPES) {
+                if ((resourceMask & (1 << resource.ordinal())) != 0) {
+                    int amount = amounts[slot * RESOURCE_COUNT + resource.ordinal()];
+                    resources.put(resource, new Asteroid.ResourceAmount(amount));
+                }
+            }
+
+            byte riskProfile = riskProfiles[slot];
+            RiskProfile risk = riskProfile == NULL_RISK_PROFILE ? null : RISK_PROFILES[riskProfile];
+
+            return new Asteroid(slot + 1L, name, risk, resources, distances[slot]);
+        }
+    }
+}
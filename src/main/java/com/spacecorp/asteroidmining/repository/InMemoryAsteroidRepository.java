@@ -1,23 +1,44 @@
 package com.spacecorp.asteroidmining.repository;
 
 import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.AsteroidStatistics;
 import com.spacecorp.asteroidmining.domain.ResourceType;
-import com.spacecorp.asteroidmining.domain.RiskProfile;
 import com.spacecorp.asteroidmining.service.AsteroidService;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * In-memory implementation of the {@link AsteroidRepository}.
  * <p>
- * This class stores asteroid data in a simple {@link ArrayList}. It is designed
+ * This class stores asteroid data in a chunked {@link AppendOnlyLog}. It is designed
  * for rapid development, prototyping, and automated testing without the overhead
  * of a persistent database.
  * </p>
+ * <p>
+ * Ids are assigned sequentially, so a lookup by id is a direct access to the log, and lookups
+ * by name are served from a hash index. Neither cost grows with the size of the catalog. Range queries use a sorted distance index, so they only cost
+ * a logarithmic seek plus the size of the result. Resource filters iterate a precomputed posting
+ * list per {@link ResourceType}, and valuations use the total values precomputed on save. Catalog statistics are
+ * aggregated on save as well. All indexes are only modified inside {@link #save(Asteroid)},
+ * which is serialized, so concurrent saves can never leave the indexes out of sync with each other.
+ * Saving never copies stored asteroids, so its cost stays constant as the catalog grows.
+ * Readers never lock and always see a consistent snapshot of the log.
+ * </p>
+ * <p>
+ * Pages are seeked directly in the id-ordered log and posting lists. Filtered pages first scan the log
+ * from the cursor for a bounded number of asteroids; if the filter is too selective to fill the page
+ * within that budget, the remaining page is selected from the matches of the sorted index instead.
+ * </p>
  * <b>Applied Clean Code Strategy:</b>
  * <ul>
  * <li><b>Separation of Concerns:</b> This class handles only the technical details
@@ -27,79 +48,401 @@ import java.util.concurrent.atomic.AtomicLong;
  * {@link AsteroidService}.</li>
  * </ul>
  * <p>
- * Note: We use {@link Profile} to activate this "mock" implementation only when the
- * 'postgres' profile is <b>not</b> active, providing a fallback for local testing
+ * Note: We use {@link Profile} to activate this "mock" implementation only when none of the
+ * 'postgres', 'columnar' or 'mmap' profiles is active, providing a fallback for local testing
  * or environments without a running database.
  * </p>
  */
 @Repository
-@Profile("!postgres")
+@Profile("!postgres & !columnar & !mmap")
 public class InMemoryAsteroidRepository implements AsteroidRepository {
 
-    private final List<Asteroid> asteroids = new CopyOnWriteArrayList<>();
-    private final AtomicLong idSequence;
+    /**
+     * Number of asteroids per requested page that a filtered page may scan in the log
+     * before it falls back to the sorted index.
+     */
+    private static final int SCAN_BUDGET_PER_RESULT = 16;
+
+    /**
+     * All asteroids in id order. The asteroid with id {@code n} is stored at position {@code n - 1}.
+     */
+    private final AppendOnlyLog<Asteroid> asteroids = new AppendOnlyLog<>();
+    /**
+     * Names are not guaranteed to be unique, so this index keeps the first asteroid saved under a name.
+     */
+    private final ConcurrentMap<String, Asteroid> asteroidsByName = new ConcurrentHashMap<>();
+    /**
+     * Sorted by distance first and id second, so asteroids at the same distance do not replace each other.
+     */
+    private final ConcurrentNavigableMap<SortKey, Asteroid> asteroidsByDistance = new ConcurrentSkipListMap<>();
+    /**
+     * One posting list per resource type, in id order. The map itself is filled once and never changes.
+     */
+    private final Map<ResourceType, AppendOnlyLog<Asteroid>> asteroidsByResource = new EnumMap<>(ResourceType.class);
+    /**
+     * Total values at the most recently requested market prices. Built on the first valuation request,
+     * maintained on every save and rebuilt in bulk as soon as valuations are requested with different prices.
+     */
+    private volatile ValuationIndex valuationIndex;
+    private final CatalogStatistics statistics = new CatalogStatistics();
+    /**
+     * Serializes writers. A {@link ReentrantLock} is used instead of {@code synchronized}
+     * so that waiting virtual threads do not pin their carrier thread.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
 
     /**
      * Initializes the repository with hardcoded sample data (Bootstrapping).
      */
     public InMemoryAsteroidRepository() {
-        asteroids.add(new Asteroid(
-                1L, "Ceres-Alpha", RiskProfile.SAFE,
-                Map.of(ResourceType.IRON, new Asteroid.ResourceAmount(500), ResourceType.GOLD, new Asteroid.ResourceAmount(10)), 2.5
-        ));
-        asteroids.add(new Asteroid(
-                2L, "X-99-Eris", RiskProfile.CAUTION,
-                Map.of(ResourceType.KRYPTONITE, new Asteroid.ResourceAmount(5), ResourceType.PLATINUM, new Asteroid.ResourceAmount(5)), 15.1
-        ));
-        asteroids.add(new Asteroid(
-                3L, "Alpha-Lumina-V2", RiskProfile.VOLATILE,
-                Map.of(ResourceType.IRON, new Asteroid.ResourceAmount(500), ResourceType.PLATINUM, new Asteroid.ResourceAmount(1), ResourceType.GOLD, new Asteroid.ResourceAmount(2)), 5.7
-        ));
-        asteroids.add(new Asteroid(
-                4L, "Aris-Centurion", RiskProfile.LETHAL,
-                Map.of(ResourceType.KRYPTONITE, new Asteroid.ResourceAmount(1500)), 25.3
-        ));
-
-        idSequence = new AtomicLong(asteroids.size());
+        for (ResourceType resource : ResourceType.values()) {
+            asteroidsByResource.put(resource, new AppendOnlyLog<>());
+        }
+
+        SampleAsteroids.CATALOG.forEach(this::save);
     }
 
     @Override
     public List<Asteroid> findAll() {
-        return Collections.unmodifiableList(asteroids);
+        return asteroids.snapshot();
+    }
+
+    @Override
+    public List<Asteroid> findPage(long afterId, int limit) {
+        List<Asteroid> snapshot = asteroids.snapshot();
+        int from = firstPositionAfter(afterId, snapshot.size());
+        return List.copyOf(snapshot.subList(from, (int) Math.min((long) from + limit, snapshot.size())));
     }
 
     @Override
     public Optional<Asteroid> findById(Long id) {
-        return asteroids.stream()
-                .filter(asteroid -> Objects.equals(asteroid.id(), id))
-                .findFirst();
+        if (id == null || id < 1 || id > asteroids.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(asteroids.get((int) (id - 1)));
     }
 
     @Override
     public Optional<Asteroid> findByName(String name) {
-        return asteroids.stream()
-                .filter(asteroid -> Objects.equals(asteroid.name(), name))
-                .findFirst();
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(asteroidsByName.get(name));
     }
 
     @Override
     public List<Asteroid> findInRange(double maxDistance) {
-        return asteroids.stream()
-                .filter(asteroid -> asteroid.distanceInLightYears() <= maxDistance)
-                .toList();
+        return List.copyOf(asteroidsByDistance.headMap(new SortKey(maxDistance, Long.MAX_VALUE), true).values());
+    }
+
+    /**
+     * Streams the distance index directly instead of copying the matches first.
+     */
+    @Override
+    public Stream<Asteroid> streamInRange(double maxDistance) {
+        return asteroidsByDistance.headMap(new SortKey(maxDistance, Long.MAX_VALUE), true).values().stream();
+    }
+
+    @Override
+    public List<Asteroid> findInRange(double maxDistance, long afterId, int limit) {
+        return seekPage(afterId, limit,
+                asteroid -> asteroid.distanceInLightYears() <= maxDistance,
+                () -> asteroidsByDistance.headMap(new SortKey(maxDistance, Long.MAX_VALUE), true).values());
     }
 
     @Override
     public List<Asteroid> findWithResource(ResourceType resource) {
-        return asteroids.stream()
-                .filter(asteroid -> asteroid.resources().containsKey(resource))
+        return asteroidsByResource.get(resource).snapshot();
+    }
+
+    /**
+     * Intersects the posting lists by walking the shortest one and keeping only the asteroids
+     * that also contain every other requested resource.
+     */
+    @Override
+    public List<Asteroid> findWithResources(Set<ResourceType> resources) {
+        if (resources.isEmpty()) {
+            return findAll();
+        }
+        List<Asteroid> shortestPostings = resources.stream()
+                .map(resource -> asteroidsByResource.get(resource).snapshot())
+                .min(Comparator.comparingInt(List::size))
+                .orElseThrow();
+        if (resources.size() == 1) {
+            return shortestPostings;
+        }
+        return shortestPostings.stream()
+                .filter(asteroid -> asteroid.resources().keySet().containsAll(resources))
                 .toList();
     }
 
+    /**
+     * Seeks the cursor in the shortest id-ordered posting list with a binary search and walks it from there.
+     */
+    @Override
+    public List<Asteroid> findWithResources(Set<ResourceType> resources, long afterId, int limit) {
+        if (resources.isEmpty()) {
+            return findPage(afterId, limit);
+        }
+        List<Asteroid> shortestPostings = resources.stream()
+                .map(resource -> asteroidsByResource.get(resource).snapshot())
+                .min(Comparator.comparingInt(List::size))
+                .orElseThrow();
+        List<Asteroid> page = new ArrayList<>(Math.min(limit, shortestPostings.size()));
+        for (int i = firstPostingAfter(shortestPostings, afterId); i < shortestPostings.size() && page.size() < limit; i++) {
+            Asteroid asteroid = shortestPostings.get(i);
+            if (asteroid.resources().keySet().containsAll(resources)) {
+                page.add(asteroid);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Answers valuations from the sorted {@link ValuationIndex}, so the query is a seek plus the size of the result.
+     * If the market prices differ from the ones the index was built for, the index is rebuilt once for the new prices.
+     * The matches are sorted by id, like the results of the other repositories.
+     */
+    @Override
+    public List<Asteroid> findWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices) {
+        List<Asteroid> matches = new ArrayList<>(valuationIndexFor(prices).worthAtLeast(minTotalValue));
+        matches.sort(Comparator.comparingLong(Asteroid::id));
+        return Collections.unmodifiableList(matches);
+    }
+
+    @Override
+    public List<Asteroid> findWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices, long afterId, int limit) {
+        ValuationIndex index = valuationIndexFor(prices);
+        return seekPage(afterId, limit,
+                asteroid -> asteroid.totalValue(index.prices()) >= minTotalValue,
+                () -> index.worthAtLeast(minTotalValue));
+    }
+
+    /**
+     * Collects a filtered page in id order.
+     * <p>
+     * Scans the log from the cursor until the page is full or the scan budget is used up. Unselective
+     * filters are answered by this scan alone. For selective filters, the rest of the page is selected
+     * from the matches of a sorted index with a bounded max-heap, keeping the smallest ids after the
+     * scanned part of the log.
+     * </p>
+     * <p>
+     * The index is sorted by the filter value, not by id, so the heap pass visits every match, including those
+     * before the cursor: in the worst case a page costs {@code O(matches · log limit)}, e.g. 500,000 entries
+     * for a range matching 5 % of ten million asteroids. The pass is therefore capped at the number of
+     * asteroids after the scanned part of the log. Once more matches were visited, the page is completed by
+     * scanning the log instead, so a page never costs more than about two passes over the rest of the catalog.
+     * </p>
+     *
+     * @param afterId the keyset cursor.
+     * @param limit   maximum number of asteroids.
+     * @param filter  the condition of the query.
+     * @param matches all asteroids matching the filter, in any order.
+     */
+    private List<Asteroid> seekPage(long afterId, int limit, Predicate<Asteroid> filter,
+                                    Supplier<Collection<Asteroid>> matches) {
+        List<Asteroid> snapshot = asteroids.snapshot();
+        int from = firstPositionAfter(afterId, snapshot.size());
+        int scanEnd = (int) Math.min(from + (long) limit * SCAN_BUDGET_PER_RESULT, snapshot.size());
+        List<Asteroid> page = new ArrayList<>();
+        int position = from;
+        for (; position < scanEnd && page.size() < limit; position++) {
+            Asteroid asteroid = snapshot.get(position);
+            if (filter.test(asteroid)) {
+                page.add(asteroid);
+            }
+        }
+        if (page.size() == limit || position == snapshot.size()) {
+            return page;
+        }
+
+        // The ids of the scanned positions end at the position, and asteroids saved after the snapshot are left out.
+        long scannedId = position;
+        long snapshotId = snapshot.size();
+        int remaining = limit - page.size();
+        PriorityQueue<Asteroid> smallestIds = new PriorityQueue<>(Comparator.comparingLong(Asteroid::id).reversed());
+        long visitBudget = snapshotId - scannedId;
+        for (Asteroid asteroid : matches.get()) {
+            if (visitBudget-- == 0) {
+                return scanRest(snapshot, position, limit, filter, page);
+            }
+            long id = asteroid.id();
+            if (id <= scannedId || id > snapshotId) {
+                continue;
+            }
+            if (smallestIds.size() < remaining) {
+                smallestIds.add(asteroid);
+            } else if (id < smallestIds.peek().id()) {
+                smallestIds.poll();
+                smallestIds.add(asteroid);
+            }
+        }
+        List<Asteroid> rest = new ArrayList<>(smallestIds);
+        rest.sort(Comparator.comparingLong(Asteroid::id));
+        page.addAll(rest);
+        return page;
+    }
+
+    /**
+     * Completes the page by scanning the log from the position, for filters with more matches than the log has
+     * asteroids left.
+     */
+    private static List<Asteroid> scanRest(List<Asteroid> snapshot, int position, int limit,
+                                           Predicate<Asteroid> filter, List<Asteroid> page) {
+        for (; position < snapshot.size() && page.size() < limit; position++) {
+            Asteroid asteroid = snapshot.get(position);
+            if (filter.test(asteroid)) {
+                page.add(asteroid);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Ids are sequential, so the asteroids after a keyset cursor start at the position with the cursor's value.
+     */
+    private static int firstPositionAfter(long afterId, int size) {
+        return (int) Math.clamp(afterId, 0, size);
+    }
+
+    /**
+     * @return the position of the first asteroid with an id greater than {@code afterId} in an id-ordered posting list.
+     */
+    private static int firstPostingAfter(List<Asteroid> postings, long afterId) {
+        int low = 0;
+        int high = postings.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (postings.get(middle).id() <= afterId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Streams the valuation index directly instead of copying and sorting the matches first,
+     * so the asteroids are streamed in the order of their total value, not by id.
+     */
+    @Override
+    public Stream<Asteroid> streamWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices) {
+        return valuationIndexFor(prices).worthAtLeast(minTotalValue).stream();
+    }
+
+    /**
+     * @return the valuation index for these prices, which is rebuilt once if it was built for other prices.
+     */
+    private ValuationIndex valuationIndexFor(Map<ResourceType, Integer> prices) {
+        ValuationIndex index = valuationIndex;
+        if (index == null || !index.prices().equals(prices)) {
+            index = rebuildValuationIndex(prices);
+        }
+        return index;
+    }
+
+    private ValuationIndex rebuildValuationIndex(Map<ResourceType, Integer> prices) {
+        writeLock.lock();
+        try {
+            ValuationIndex index = valuationIndex;
+            // Another thread may have rebuilt the index for the same prices while we were waiting for the lock.
+            if (index != null && index.prices().equals(prices)) {
+                return index;
+            }
+            index = new ValuationIndex(prices);
+            asteroids.snapshot().forEach(index::add);
+            valuationIndex = index;
+            return index;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public AsteroidStatistics statistics() {
+        return statistics.snapshot();
+    }
+
     @Override
     public Asteroid save(Asteroid asteroid) {
-        var withId = asteroid.withId(idSequence.incrementAndGet());
-        asteroids.add(withId);
-        return withId;
+        writeLock.lock();
+        try {
+            var withId = asteroid.withId(asteroids.size() + 1L);
+            index(withId);
+            return withId;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Indexes all asteroids under a single acquisition of the {@link #writeLock}.
+     */
+    @Override
+    public List<Asteroid> saveAll(List<Asteroid> asteroids) {
+        writeLock.lock();
+        try {
+            List<Asteroid> saved = new ArrayList<>(asteroids.size());
+            for (Asteroid asteroid : asteroids) {
+                var withId = asteroid.withId(this.asteroids.size() + 1L);
+                index(withId);
+                saved.add(withId);
+            }
+            return saved;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds a stored asteroid to all lookup indexes and finally to the log, which publishes it to {@link #findAll()}.
+     * Must only be called while holding the {@link #writeLock}.
+     */
+    private void index(Asteroid asteroid) {
+        if (asteroid.name() != null) {
+            asteroidsByName.putIfAbsent(asteroid.name(), asteroid);
+        }
+        asteroidsByDistance.put(new SortKey(asteroid.distanceInLightYears(), asteroid.id()), asteroid);
+        asteroid.resources().keySet().forEach(resource -> asteroidsByResource.get(resource).append(asteroid));
+        ValuationIndex index = valuationIndex;
+        if (index != null) {
+            index.add(asteroid);
+        }
+        statistics.add(asteroid);
+        asteroids.append(asteroid);
+    }
+
+    /**
+     * Key of the sorted indexes. The id breaks ties between asteroids with the same rank (e.g. the same distance).
+     */
+    private record SortKey(double rank, long id) implements Comparable<SortKey> {
+        @Override
+        public int compareTo(SortKey other) {
+            int byRank = Double.compare(rank, other.rank);
+            return byRank != 0 ? byRank : Long.compare(id, other.id);
+        }
+    }
+
+    /**
+     * Asteroids sorted by their total value at one fixed set of market prices.
+     */
+    private record ValuationIndex(Map<ResourceType, Integer> prices,
+                                  ConcurrentNavigableMap<SortKey, Asteroid> asteroidsByValue) {
+
+        ValuationIndex(Map<ResourceType, Integer> prices) {
+            this(Map.copyOf(prices), new ConcurrentSkipListMap<>());
+        }
+
+        void add(Asteroid asteroid) {
+            asteroidsByValue.put(new SortKey(asteroid.totalValue(prices), asteroid.id()), asteroid);
+        }
+
+        /**
+         * @return a live view of the asteroids worth at least the given value.
+         */
+        Collection<Asteroid> worthAtLeast(long minTotalValue) {
+            return asteroidsByValue.tailMap(new SortKey(minTotalValue, Long.MIN_VALUE), true).values();
+        }
     }
 }
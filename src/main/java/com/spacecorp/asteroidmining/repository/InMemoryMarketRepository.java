@@ -2,6 +2,7 @@ package com.spacecorp.asteroidmining.repository;
 
 import com.spacecorp.asteroidmining.domain.ResourceType;
 import com.spacecorp.asteroidmining.service.AsteroidService;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.Map;
@@ -21,8 +22,13 @@ import java.util.Map;
  * swapped with a Database-backed or web-API repository at any time without breaking the
  * {@link AsteroidService}.</li>
  * </ul>
+ * <p>
+ * Note: We use {@link Profile} to activate this implementation whenever the 'postgres' profile is not active,
+ * where the {@link JdbcMarketRepository} reads the prices from the database instead.
+ * </p>
  */
 @Repository
+@Profile("!postgres")
 public class InMemoryMarketRepository implements MiningMarketRepository {
 
     private final Map<ResourceType, Integer> resourcePrices;
@@ -0,0 +1,51 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.ResourceType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link MiningMarketRepository} that reads the market prices from the
+ * {@code market_prices} table of the SQL-Database.
+ * <p>
+ * The {@link AsteroidJdbcRepository} values asteroids inside the database with the prices read here,
+ * which are passed back as a query parameter, so that only the profitable asteroids are transferred.
+ * </p>
+ * <p>
+ * Note: We use {@link Profile} to ensure this JDBC implementation is only active
+ * when connecting to a PostgreSQL instance.
+ * </p>
+ */
+@Repository
+@Profile("postgres")
+public class JdbcMarketRepository implements MiningMarketRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcMarketRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int getPriceFor(ResourceType resource) {
+        return jdbcTemplate.query("SELECT price FROM market_prices WHERE resource_type = ?",
+                        (row, rowNum) -> row.getInt("price"), resource.name())
+                .stream()
+                .findFirst()
+                .orElse(0);
+    }
+
+    @Override
+    public Map<ResourceType, Integer> getMarketPrices() {
+        Map<ResourceType, Integer> prices = new EnumMap<>(ResourceType.class);
+        jdbcTemplate.query("SELECT resource_type, price FROM market_prices", row -> {
+            prices.put(ResourceType.valueOf(row.getString("resource_type")), row.getInt("price"));
+        });
+        return Collections.unmodifiableMap(prices);
+    }
+}
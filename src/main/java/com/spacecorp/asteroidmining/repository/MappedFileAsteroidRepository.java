@@ -0,0 +1,598 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.AsteroidStatistics;
+import com.spacecorp.asteroidmining.domain.ResourceType;
+import com.spacecorp.asteroidmining.domain.RiskProfile;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+/**
+ * Durable implementation of the {@link AsteroidRepository} backed by memory-mapped files.
+ * <p>
+ * This storage engine is meant for nodes that need to survive restarts but cannot run PostgreSQL.
+ * Asteroids are stored in two files inside the configured directory:
+ * </p>
+ * <ul>
+ * <li><b>{@value #RECORDS_FILE}:</b> a header followed by one fixed-width record per asteroid.
+ * The record of the asteroid with id {@code n} is record {@code n - 1}, so ids are never stored.</li>
+ * <li><b>{@value #NAMES_FILE}:</b> an append-only region with the UTF-8 encoded names.</li>
+ * </ul>
+ * <p>
+ * Both files are mapped into memory, so queries scan the records with the same speed as the
+ * columnar in-memory engine. On restart the files are simply mapped again; only the name index
+ * is rebuilt with one pass over the names.
+ * </p>
+ * <p>
+ * Filters and filtered pages scan the mapped records from the cursor and stop as soon as the page is full, but this engine
+ * keeps no secondary indexes: a selective filter may scan the whole rest of the catalog for a single page.
+ * The default in-memory engine and PostgreSQL answer selective filters from indexes instead.
+ * </p>
+ * <p>
+ * A save writes the name and the record first and commits them by updating the record count in
+ * the header, so a crash in between leaves no half-written asteroid behind. The operating system
+ * writes the mapped pages back to disk, which survives crashes of the application. To survive power
+ * losses as well, set {@code asteroid.repository.mmap.sync-on-save} to force every save to disk.
+ * The written records are then forced before the header, so the committed count never points at
+ * records that did not reach the disk.
+ * </p>
+ * <p>
+ * Note: We use {@link Profile} to activate this implementation only with the 'mmap' profile.
+ * </p>
+ */
+@Repository
+@Profile("mmap")
+public class MappedFileAsteroidRepository implements AsteroidRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedFileAsteroidRepository.class);
+
+    static final String RECORDS_FILE = "asteroids.dat";
+    static final String NAMES_FILE = "asteroid-names.dat";
+
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+    private static final RiskProfile[] RISK_PROFILES = RiskProfile.values();
+    private static final int RESOURCE_COUNT = RESOURCE_TYPES.length;
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // Header layout of the records file
+    private static final int MAGIC = 0x41535452; // "ASTR"
+    private static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_RESOURCE_COUNT = 8;
+    private static final int HEADER_RECORD_SIZE = 12;
+    private static final int HEADER_RECORD_COUNT = 16;
+    private static final int HEADER_NAMES_LENGTH = 24;
+
+    // Fixed-width record layout
+    private static final int RECORD_DISTANCE = 0;
+    private static final int RECORD_NAME_OFFSET = 8;
+    private static final int RECORD_NAME_LENGTH = 16;
+    private static final int RECORD_RISK_PROFILE = 20;
+    private static final int RECORD_RESOURCE_MASK = 21;
+    private static final int RECORD_AMOUNTS = 24;
+    static final int RECORD_SIZE = RECORD_AMOUNTS + RESOURCE_COUNT * Integer.BYTES;
+
+    /**
+     * Files are mapped in segments, since a single mapping is limited to 2 GB.
+     */
+    private static final int RECORD_SEGMENT_BITS = 20;
+    private static final int RECORDS_PER_SEGMENT = 1 << RECORD_SEGMENT_BITS;
+    private static final int NAME_SEGMENT_BITS = 26;
+    private static final int NAME_SEGMENT_SIZE = 1 << NAME_SEGMENT_BITS;
+    private static final int MAX_NAME_LENGTH = Short.MAX_VALUE;
+
+    private static final int NULL_NAME = -1;
+    private static final byte NULL_RISK_PROFILE = -1;
+
+    private final FileChannel recordsChannel;
+    private final FileChannel namesChannel;
+    private final MappedByteBuffer header;
+    private final boolean syncOnSave;
+
+    private volatile MappedByteBuffer[] recordSegments = new MappedByteBuffer[0];
+    private volatile MappedByteBuffer[] nameSegments = new MappedByteBuffer[0];
+    /**
+     * Number of committed records. Readers must read this before the segments.
+     */
+    private volatile int size;
+    private long namesLength;
+    private final SlotNameIndex nameIndex;
+    private final CatalogStatistics statistics = new CatalogStatistics();
+    /**
+     * Serializes writers without pinning the carrier thread of waiting virtual threads.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Maps the asteroid files of the given directory, creating them with the sample data if they do not exist.
+     *
+     * @param directory  directory containing the asteroid files.
+     * @param syncOnSave whether every save is forced to disk before it returns.
+     */
+    public MappedFileAsteroidRepository(
+            @Value("${asteroid.repository.mmap.directory:./data}") Path directory,
+            @Value("${asteroid.repository.mmap.sync-on-save:false}") boolean syncOnSave) throws IOException {
+        this.syncOnSave = syncOnSave;
+        Files.createDirectories(directory);
+        recordsChannel = FileChannel.open(directory.resolve(RECORDS_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        namesChannel = FileChannel.open(directory.resolve(NAMES_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        header = map(recordsChannel, 0, HEADER_SIZE);
+
+        if (header.getInt(HEADER_MAGIC) == 0) {
+            initializeHeader();
+        }
+        validateHeader(directory);
+
+        int recordCount = Math.toIntExact(header.getLong(HEADER_RECORD_COUNT));
+        namesLength = header.getLong(HEADER_NAMES_LENGTH);
+        nameIndex = new SlotNameIndex(recordCount);
+        recover(recordCount);
+
+        if (recordCount == 0) {
+            SampleAsteroids.CATALOG.forEach(this::save);
+        }
+        log.info("Mapped {} asteroids from {}", size, directory.toAbsolutePath());
+    }
+
+    @Override
+    public List<Asteroid> findAll() {
+        int snapshotSize = size;
+        return SlotList.range(0, snapshotSize, readerOf(recordSegments, nameSegments));
+    }
+
+    @Override
+    public List<Asteroid> findPage(long afterId, int limit) {
+        int snapshotSize = size;
+        int from = SlotList.firstSlotAfter(afterId, snapshotSize);
+        int to = (int) Math.min((long) from + limit, snapshotSize);
+        return SlotList.range(from, to, readerOf(recordSegments, nameSegments));
+    }
+
+    @Override
+    public Optional<Asteroid> findById(Long id) {
+        int snapshotSize = size;
+        if (id == null || id < 1 || id > snapshotSize) {
+            return Optional.empty();
+        }
+        return Optional.of(toAsteroid(recordSegments, nameSegments, (int) (id - 1)));
+    }
+
+    @Override
+    public Optional<Asteroid> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        int snapshotSize = size;
+        MappedByteBuffer[] records = recordSegments;
+        MappedByteBuffer[] names = nameSegments;
+        int slot = nameIndex.find(name.getBytes(StandardCharsets.UTF_8), snapshotSize,
+                (candidate, encoded) -> nameEquals(records, names, candidate, encoded));
+        return slot < 0 ? Optional.empty() : Optional.of(toAsteroid(records, names, slot));
+    }
+
+    @Override
+    public List<Asteroid> findInRange(double maxDistance) {
+        return findInRange(maxDistance, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Asteroid> findInRange(double maxDistance, long afterId, int limit) {
+        int snapshotSize = size;
+        MappedByteBuffer[] records = recordSegments;
+        SlotList matches = new SlotList();
+        for (int slot = SlotList.firstSlotAfter(afterId, snapshotSize); slot < snapshotSize && matches.size() < limit; slot++) {
+            if (record(records, slot).getDouble(recordOffset(slot) + RECORD_DISTANCE) <= maxDistance) {
+                matches.add(slot);
+            }
+        }
+        return matches.view(readerOf(records, nameSegments));
+    }
+
+    @Override
+    public List<Asteroid> findWithResource(ResourceType resource) {
+        return findWithResources(EnumSet.of(resource));
+    }
+
+    @Override
+    public List<Asteroid> findWithResources(Set<ResourceType> resources) {
+        return findWithResources(resources, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Asteroid> findWithResources(Set<ResourceType> resources, long afterId, int limit) {
+        int required = 0;
+        for (ResourceType resource : resources) {
+            required |= 1 << resource.ordinal();
+        }
+        int snapshotSize = size;
+        MappedByteBuffer[] records = recordSegments;
+        SlotList matches = new SlotList();
+        for (int slot = SlotList.firstSlotAfter(afterId, snapshotSize); slot < snapshotSize && matches.size() < limit; slot++) {
+            if ((record(records, slot).get(recordOffset(slot) + RECORD_RESOURCE_MASK) & required) == required) {
+                matches.add(slot);
+            }
+        }
+        return matches.view(readerOf(records, nameSegments));
+    }
+
+    /**
+     * Values the asteroids with a scan over the mapped records, without building records.
+     */
+    @Override
+    public List<Asteroid> findWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices) {
+        return findWorthAtLeast(minTotalValue, prices, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Asteroid> findWorthAtLeast(long minTotalValue, Map<ResourceType, Integer> prices, long afterId, int limit) {
+        long[] pricePerOrdinal = new long[RESOURCE_COUNT];
+        for (ResourceType resource : RESOURCE_TYPES) {
+            pricePerOrdinal[resource.ordinal()] = prices.getOrDefault(resource, 0);
+        }
+        int snapshotSize = size;
+        MappedByteBuffer[] records = recordSegments;
+        SlotList matches = new SlotList();
+        for (int slot = SlotList.firstSlotAfter(afterId, snapshotSize); slot < snapshotSize && matches.size() < limit; slot++) {
+            ByteBuffer segment = record(records, slot);
+            int offset = recordOffset(slot);
+            int resourceMask = segment.get(offset + RECORD_RESOURCE_MASK);
+            long totalValue = 0;
+            for (int ordinal = 0; ordinal < RESOURCE_COUNT; ordinal++) {
+                if ((resourceMask & (1 << ordinal)) != 0) {
+                    totalValue += pricePerOrdinal[ordinal] * segment.getInt(offset + RECORD_AMOUNTS + ordinal * Integer.BYTES);
+                }
+            }
+            if (totalValue >= minTotalValue) {
+                matches.add(slot);
+            }
+        }
+        return matches.view(readerOf(records, nameSegments));
+    }
+
+    /**
+     * Answered from aggregates that are rebuilt on startup and maintained on save, so no record is read.
+     */
+    @Override
+    public AsteroidStatistics statistics() {
+        return statistics.snapshot();
+    }
+
+    @Override
+    public Asteroid save(Asteroid asteroid) {
+        return appendAll(List.of(asteroid)).getFirst();
+    }
+
+    /**
+     * Writes all asteroids under one lock and commits them together. If {@code sync-on-save} is enabled,
+     * the written records are forced to disk once for the whole batch instead of once per asteroid.
+     */
+    @Override
+    public List<Asteroid> saveAll(List<Asteroid> asteroids) {
+        return appendAll(asteroids);
+    }
+
+    /**
+     * Forces all pending changes to disk and closes the files.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            for (MappedByteBuffer segment : recordSegments) {
+                segment.force();
+            }
+            for (MappedByteBuffer segment : nameSegments) {
+                segment.force();
+            }
+            header.force();
+            recordsChannel.close();
+            namesChannel.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the asteroids into the next free records and commits them with one header update.
+     * <p>
+     * The header is only written after the records and names, and with {@code sync-on-save} only after they
+     * were forced to disk, since the operating system may write the mapped pages back in any order. If writing
+     * fails, nothing of the batch is committed and the written records are overwritten by the next save.
+     * </p>
+     */
+    private List<Asteroid> appendAll(List<Asteroid> asteroids) {
+        writeLock.lock();
+        try {
+            int firstSlot = size;
+            long firstNameOffset = namesLength;
+            if (asteroids.size() > Integer.MAX_VALUE - firstSlot) {
+                throw new IllegalStateException("Mapped asteroid file is full.");
+            }
+            byte[][] names = new byte[asteroids.size()][];
+            try {
+                for (int i = 0; i < names.length; i++) {
+                    names[i] = write(asteroids.get(i), firstSlot + i);
+                }
+            } catch (IOException | RuntimeException e) {
+                namesLength = firstNameOffset;
+                throw e;
+            }
+            int committedSize = firstSlot + names.length;
+            if (syncOnSave) {
+                forceRecords(firstSlot, committedSize);
+                forceNames(firstNameOffset, namesLength);
+            }
+            header.putLong(HEADER_NAMES_LENGTH, namesLength);
+            header.putLong(HEADER_RECORD_COUNT, committedSize);
+            if (syncOnSave) {
+                header.force();
+            }
+
+            MappedByteBuffer[] records = recordSegments;
+            MappedByteBuffer[] nameRegion = nameSegments;
+            List<Asteroid> saved = new ArrayList<>(names.length);
+            for (int i = 0; i < names.length; i++) {
+                int slot = firstSlot + i;
+                if (names[i] != null) {
+                    nameIndex.add(slot, names[i], (candidate, encoded) -> nameEquals(records, nameRegion, candidate, encoded));
+                }
+                statistics.add(asteroids.get(i));
+                saved.add(asteroids.get(i).withId(slot + 1L));
+            }
+            // Publishing the new size makes the committed records visible to readers.
+            size = committedSize;
+            return saved;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Asteroids could not be written to the mapped file.", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Writes an asteroid into a free record without committing it. Must only be called while holding the {@link #writeLock}.
+     *
+     * @return the encoded name, or {@code null} if the asteroid has no name.
+     */
+    private byte[] write(Asteroid asteroid, int slot) throws IOException {
+        byte[] name = asteroid.name() == null ? null : asteroid.name().getBytes(StandardCharsets.UTF_8);
+        if (name != null && name.length > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Asteroid name exceeds " + MAX_NAME_LENGTH + " bytes.");
+        }
+
+        long nameOffset = 0;
+        if (name != null) {
+            nameOffset = allocateName(name.length);
+            ByteBuffer nameSegment = ensureNameSegment((int) (nameOffset >>> NAME_SEGMENT_BITS));
+            nameSegment.put((int) (nameOffset & (NAME_SEGMENT_SIZE - 1)), name);
+        }
+
+        MappedByteBuffer segment = ensureRecordSegment(slot >>> RECORD_SEGMENT_BITS);
+        int offset = recordOffset(slot);
+        segment.putDouble(offset + RECORD_DISTANCE, asteroid.distanceInLightYears());
+        segment.putLong(offset + RECORD_NAME_OFFSET, nameOffset);
+        segment.putInt(offset + RECORD_NAME_LENGTH, name == null ? NULL_NAME : name.length);
+        segment.put(offset + RECORD_RISK_PROFILE, asteroid.riskProfile() == null
+                ? NULL_RISK_PROFILE
+                : (byte) asteroid.riskProfile().ordinal());
+        byte resourceMask = 0;
+        for (int ordinal = 0; ordinal < RESOURCE_COUNT; ordinal++) {
+            segment.putInt(offset + RECORD_AMOUNTS + ordinal * Integer.BYTES, 0);
+        }
+        if (asteroid.resources() != null) {
+            for (var entry : asteroid.resources().entrySet()) {
+                int ordinal = entry.getKey().ordinal();
+                resourceMask |= (byte) (1 << ordinal);
+                segment.putInt(offset + RECORD_AMOUNTS + ordinal * Integer.BYTES, entry.getValue().amount());
+            }
+        }
+        segment.put(offset + RECORD_RESOURCE_MASK, resourceMask);
+        return name;
+    }
+
+    /**
+     * Forces only the given records to disk, so the cost of a sync does not grow with the catalog.
+     */
+    private void forceRecords(int fromSlot, int toSlot) {
+        for (int slot = fromSlot; slot < toSlot; ) {
+            int segmentIndex = slot >>> RECORD_SEGMENT_BITS;
+            int segmentEnd = (int) Math.min(toSlot, ((long) segmentIndex + 1) << RECORD_SEGMENT_BITS);
+            recordSegments[segmentIndex].force(recordOffset(slot), (segmentEnd - slot) * RECORD_SIZE);
+            slot = segmentEnd;
+        }
+    }
+
+    /**
+     * Forces only the given part of the name region to disk.
+     */
+    private void forceNames(long fromOffset, long toOffset) {
+        for (long offset = fromOffset; offset < toOffset; ) {
+            int segmentIndex = (int) (offset >>> NAME_SEGMENT_BITS);
+            long segmentEnd = Math.min(toOffset, ((long) segmentIndex + 1) << NAME_SEGMENT_BITS);
+            nameSegments[segmentIndex].force((int) (offset & (NAME_SEGMENT_SIZE - 1)), (int) (segmentEnd - offset));
+            offset = segmentEnd;
+        }
+    }
+
+    /**
+     * Reserves space for a name in the name region. Names never cross a segment boundary.
+     */
+    private long allocateName(int length) {
+        long offset = namesLength;
+        long remainingInSegment = NAME_SEGMENT_SIZE - (offset & (NAME_SEGMENT_SIZE - 1));
+        if (length > remainingInSegment) {
+            offset += remainingInSegment;
+        }
+        namesLength = offset + length;
+        return offset;
+    }
+
+    private void initializeHeader() {
+        header.putInt(HEADER_VERSION, FORMAT_VERSION);
+        header.putInt(HEADER_RESOURCE_COUNT, RESOURCE_COUNT);
+        header.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+        header.putLong(HEADER_RECORD_COUNT, 0);
+        header.putLong(HEADER_NAMES_LENGTH, 0);
+        // The magic number is written last and marks the header as complete.
+        header.putInt(HEADER_MAGIC, MAGIC);
+        header.force();
+    }
+
+    private void validateHeader(Path directory) {
+        if (header.getInt(HEADER_MAGIC) != MAGIC
+                || header.getInt(HEADER_VERSION) != FORMAT_VERSION
+                || header.getInt(HEADER_RESOURCE_COUNT) != RESOURCE_COUNT
+                || header.getInt(HEADER_RECORD_SIZE) != RECORD_SIZE) {
+            throw new IllegalStateException("Unsupported asteroid file format in " + directory.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Maps the committed part of the files again and rebuilds the name index and the statistics in one pass.
+     * Records and names that were written after the last commit are ignored and overwritten later.
+     */
+    private void recover(int recordCount) throws IOException {
+        if (recordCount > 0) {
+            ensureRecordSegment((recordCount - 1) >>> RECORD_SEGMENT_BITS);
+        }
+        if (namesLength > 0) {
+            ensureNameSegment((int) ((namesLength - 1) >>> NAME_SEGMENT_BITS));
+        }
+        MappedByteBuffer[] records = recordSegments;
+        MappedByteBuffer[] names = nameSegments;
+        for (int slot = 0; slot < recordCount; slot++) {
+            byte[] name = readName(records, names, slot);
+            if (name != null) {
+                nameIndex.add(slot, name, (candidate, encoded) -> nameEquals(records, names, candidate, encoded));
+            }
+            addStatistics(records, slot);
+        }
+        size = recordCount;
+    }
+
+    private MappedByteBuffer ensureRecordSegment(int segmentIndex) throws IOException {
+        MappedByteBuffer[] segments = recordSegments;
+        if (segmentIndex < segments.length) {
+            return segments[segmentIndex];
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(segments, segmentIndex + 1);
+        long segmentSize = (long) RECORDS_PER_SEGMENT * RECORD_SIZE;
+        for (int i = segments.length; i <= segmentIndex; i++) {
+            grown[i] = map(recordsChannel, HEADER_SIZE + i * segmentSize, segmentSize);
+        }
+        recordSegments = grown;
+        return grown[segmentIndex];
+    }
+
+    private MappedByteBuffer ensureNameSegment(int segmentIndex) throws IOException {
+        MappedByteBuffer[] segments = nameSegments;
+        if (segmentIndex < segments.length) {
+            return segments[segmentIndex];
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(segments, segmentIndex + 1);
+        for (int i = segments.length; i <= segmentIndex; i++) {
+            grown[i] = map(namesChannel, (long) i * NAME_SEGMENT_SIZE, NAME_SEGMENT_SIZE);
+        }
+        nameSegments = grown;
+        return grown[segmentIndex];
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        buffer.order(BYTE_ORDER);
+        return buffer;
+    }
+
+    private static ByteBuffer record(MappedByteBuffer[] records, int slot) {
+        return records[slot >>> RECORD_SEGMENT_BITS];
+    }
+
+    private static int recordOffset(int slot) {
+        return (slot & (RECORDS_PER_SEGMENT - 1)) * RECORD_SIZE;
+    }
+
+    private static byte[] readName(MappedByteBuffer[] records, MappedByteBuffer[] names, int slot) {
+        ByteBuffer segment = record(records, slot);
+        int offset = recordOffset(slot);
+        int length = segment.getInt(offset + RECORD_NAME_LENGTH);
+        if (length == NULL_NAME) {
+            return null;
+        }
+        long nameOffset = segment.getLong(offset + RECORD_NAME_OFFSET);
+        byte[] name = new byte[length];
+        names[(int) (nameOffset >>> NAME_SEGMENT_BITS)].get((int) (nameOffset & (NAME_SEGMENT_SIZE - 1)), name);
+        return name;
+    }
+
+    private static boolean nameEquals(MappedByteBuffer[] records, MappedByteBuffer[] names, int slot, byte[] name) {
+        int length = record(records, slot).getInt(recordOffset(slot) + RECORD_NAME_LENGTH);
+        return length == name.length && Arrays.equals(readName(records, names, slot), name);
+    }
+
+    /**
+     * Adds a stored record to the statistics without building its {@link Asteroid} or reading its name.
+     */
+    private void addStatistics(MappedByteBuffer[] records, int slot) {
+        ByteBuffer segment = record(records, slot);
+        int offset = recordOffset(slot);
+        byte riskProfile = segment.get(offset + RECORD_RISK_PROFILE);
+        statistics.addAsteroid(segment.getDouble(offset + RECORD_DISTANCE),
+                riskProfile == NULL_RISK_PROFILE ? null : RISK_PROFILES[riskProfile]);
+        int resourceMask = segment.get(offset + RECORD_RESOURCE_MASK);
+        for (ResourceType resource : RESOURCE_TYPES) {
+            if ((resourceMask & (1 << resource.ordinal())) != 0) {
+                statistics.addResource(resource, segment.getInt(offset + RECORD_AMOUNTS + resource.ordinal() * Integer.BYTES));
+            }
+        }
+    }
+
+    private static IntFunction<Asteroid> readerOf(MappedByteBuffer[] records, MappedByteBuffer[] names) {
+        return slot -> toAsteroid(records, names, slot);
+    }
+
+    /**
+     * Builds the {@link Asteroid} record of a slot. This is the only place where records are created.
+     */
+    private static Asteroid toAsteroid(MappedByteBuffer[] records, MappedByteBuffer[] names, int slot) {
+        ByteBuffer segment = record(records, slot);
+        int offset = recordOffset(slot);
+        byte[] encodedName = readName(records, names, slot);
+        String name = encodedName == null ? null : new String(encodedName, StandardCharsets.UTF_8);
+
+        Map<ResourceType, Asteroid.ResourceAmount> resources = new EnumMap<>(ResourceType.class);
+        int resourceMask = segment.get(offset + RECORD_RESOURCE_MASK);
+        for (ResourceType resource : RESOURCE_TYPES) {
+            if ((resourceMask & (1 << resource.ordinal())) != 0) {
+                int amount = segment.getInt(offset + RECORD_AMOUNTS + resource.ordinal() * Integer.BYTES);
+                resources.put(resource, new Asteroid.ResourceAmount(amount));
+            }
+        }
+
+        byte riskProfile = segment.get(offset + RECORD_RISK_PROFILE);
+        RiskProfile risk = riskProfile == NULL_RISK_PROFILE ? null : RISK_PROFILES[riskProfile];
+
+        return new Asteroid(slot + 1L, name, risk, resources, segment.getDouble(offset + RECORD_DISTANCE));
+    }
+}
@@ -0,0 +1,26 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.ResourceType;
+
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Passes prices to PostgreSQL as one JSON object parameter, e.g. {@code {"IRON":1,"GOLD":50}}.
+ * <p>
+ * The queries expand the object with {@code jsonb_each_text} into a small table of resource types and prices,
+ * so one statement can value the asteroids with any set of prices. The keys are enum names and the values
+ * integers, so no escaping is needed.
+ * </p>
+ */
+final class MarketPricesJson {
+
+    private MarketPricesJson() {
+    }
+
+    static String toJson(Map<ResourceType, Integer> prices) {
+        StringJoiner json = new StringJoiner(",", "{", "}");
+        prices.forEach((type, price) -> json.add("\"" + type.name() + "\":" + price));
+        return json.toString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.ResourceType;
+import com.spacecorp.asteroidmining.domain.RiskProfile;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hardcoded sample data used to bootstrap the in-process repositories.
+ * <p>
+ * Keeping the catalog in one place ensures that every in-process storage engine starts
+ * with the same asteroids (and ids) as the PostgreSQL test data.
+ * </p>
+ */
+final class SampleAsteroids {
+
+    static final List<Asteroid> CATALOG = List.of(
+            new Asteroid(
+                    1L, "Ceres-Alpha", RiskProfile.SAFE,
+                    Map.of(ResourceType.IRON, new Asteroid.ResourceAmount(500), ResourceType.GOLD, new Asteroid.ResourceAmount(10)), 2.5
+            ),
+            new Asteroid(
+                    2L, "X-99-Eris", RiskProfile.CAUTION,
+                    Map.of(ResourceType.KRYPTONITE, new Asteroid.ResourceAmount(5), ResourceType.PLATINUM, new Asteroid.ResourceAmount(5)), 15.1
+            ),
+            new Asteroid(
+                    3L, "Alpha-Lumina-V2", RiskProfile.VOLATILE,
+                    Map.of(ResourceType.IRON, new Asteroid.ResourceAmount(500), ResourceType.PLATINUM, new Asteroid.ResourceAmount(1), ResourceType.GOLD, new Asteroid.ResourceAmount(2)), 5.7
+            ),
+            new Asteroid(
+                    4L, "Aris-Centurion", RiskProfile.LETHAL,
+                    Map.of(ResourceType.KRYPTONITE, new Asteroid.ResourceAmount(1500)), 25.3
+            )
+    );
+
+    private SampleAsteroids() {
+    }
+}
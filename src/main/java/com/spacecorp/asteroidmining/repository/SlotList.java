@@ -0,0 +1,93 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * Growable list of matching slots, used by the slot-based storage engines to collect scan results
+ * without building an {@link Asteroid} record per match.
+ * <p>
+ * Records are only built by the returned views, one at a time while the result is iterated
+ * (e.g. during JSON serialization).
+ * </p>
+ */
+final class SlotList {
+
+    private int[] slots = new int[16];
+    private int size;
+
+    void add(int slot) {
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+        }
+        slots[size++] = slot;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param reader builds the record of a slot.
+     * @return a read-only view of the collected slots.
+     */
+    List<Asteroid> view(IntFunction<Asteroid> reader) {
+        return new SlotView(slots, 0, size, reader);
+    }
+
+    /**
+     * @param from   first slot of the range.
+     * @param to     slot after the last slot of the range.
+     * @param reader builds the record of a slot.
+     * @return a read-only view of the slots {@code from} to {@code to - 1}.
+     */
+    static List<Asteroid> range(int from, int to, IntFunction<Asteroid> reader) {
+        return new SlotView(null, from, Math.max(to - from, 0), reader);
+    }
+
+    /**
+     * The slot-based engines assign id {@code slot + 1}, so the asteroids after a keyset cursor
+     * start at the slot with the cursor's value.
+     *
+     * @param afterId the keyset cursor.
+     * @param size    number of stored slots.
+     * @return the first slot holding an asteroid with an id greater than {@code afterId}.
+     */
+    static int firstSlotAfter(long afterId, int size) {
+        return (int) Math.clamp(afterId, 0, size);
+    }
+
+    private static final class SlotView extends AbstractList<Asteroid> implements RandomAccess {
+        /**
+         * The slots of the view, or {@code null} for a consecutive range starting at {@link #from}.
+         */
+        private final int[] slots;
+        private final int from;
+        private final int size;
+        private final IntFunction<Asteroid> reader;
+
+        SlotView(int[] slots, int from, int size, IntFunction<Asteroid> reader) {
+            this.slots = slots;
+            this.from = from;
+            this.size = size;
+            this.reader = reader;
+        }
+
+        @Override
+        public Asteroid get(int index) {
+            Objects.checkIndex(index, size);
+            return reader.apply(slots == null ? from + index : slots[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
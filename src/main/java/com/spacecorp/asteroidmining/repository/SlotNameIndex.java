@@ -0,0 +1,116 @@
+package com.spacecorp.asteroidmining.repository;
+
+/**
+ * Hash index from asteroid names to the slots of a slot-based storage engine.
+ * <p>
+ * Names are handled as UTF-8 bytes, so the index does not keep a {@link String} per asteroid.
+ * It is an open addressing table of slot numbers with the hash of each entry stored next to it,
+ * so the table can grow without reading the names again. The names themselves stay in the storage
+ * engine and are compared through a {@link NameMatcher}.
+ * </p>
+ * <p>
+ * Like the storage engines, the index has a single writer and lock-free readers. Readers pass the
+ * number of published slots and ignore entries of slots that are not published yet.
+ * </p>
+ */
+final class SlotNameIndex {
+
+    /**
+     * Compares the stored name of a slot with the given UTF-8 encoded name.
+     */
+    @FunctionalInterface
+    interface NameMatcher {
+        boolean nameEquals(int slot, byte[] name);
+    }
+
+    private static final int FREE = 0;
+
+    /**
+     * Slot + 1 per bucket (0 marks a free bucket) and the hash of its name. Replaced as a whole when growing.
+     */
+    private volatile Table table;
+    private int entries;
+
+    SlotNameIndex(int initialCapacity) {
+        table = new Table(Integer.highestOneBit(Math.max(16, initialCapacity - 1)) << 1);
+    }
+
+    /**
+     * @param name          UTF-8 encoded name.
+     * @param visibleSlots  number of slots published to the caller.
+     * @param matcher       compares stored names.
+     * @return the slot of the first asteroid saved under this name, or -1.
+     */
+    int find(byte[] name, int visibleSlots, NameMatcher matcher) {
+        Table current = table;
+        int hash = hash(name);
+        int mask = current.slots.length - 1;
+        for (int bucket = hash & mask; current.slots[bucket] != FREE; bucket = (bucket + 1) & mask) {
+            int slot = current.slots[bucket] - 1;
+            if (current.hashes[bucket] == hash && slot < visibleSlots && matcher.nameEquals(slot, name)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a slot unless a slot with the same name is indexed already. Must not be called concurrently.
+     */
+    void add(int slot, byte[] name, NameMatcher matcher) {
+        // Keep the load factor below 0.75 to keep probe sequences short.
+        if ((long) (entries + 1) * 4 > (long) table.slots.length * 3) {
+            table = table.grow();
+        }
+        Table current = table;
+        int hash = hash(name);
+        int mask = current.slots.length - 1;
+        int bucket = hash & mask;
+        while (current.slots[bucket] != FREE) {
+            if (current.hashes[bucket] == hash && matcher.nameEquals(current.slots[bucket] - 1, name)) {
+                return;
+            }
+            bucket = (bucket + 1) & mask;
+        }
+        // The hash is written first, so a reader that sees the slot also sees its hash.
+        current.hashes[bucket] = hash;
+        current.slots[bucket] = slot + 1;
+        entries++;
+    }
+
+    static int hash(byte[] name) {
+        int hash = 1;
+        for (byte b : name) {
+            hash = 31 * hash + b;
+        }
+        // Spread the higher bits, since the bucket index only uses the lower ones.
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Table {
+        final int[] slots;
+        final int[] hashes;
+
+        Table(int length) {
+            slots = new int[length];
+            hashes = new int[length];
+        }
+
+        Table grow() {
+            Table grown = new Table(Math.multiplyExact(slots.length, 2));
+            int mask = grown.slots.length - 1;
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] == FREE) {
+                    continue;
+                }
+                int bucket = hashes[i] & mask;
+                while (grown.slots[bucket] != FREE) {
+                    bucket = (bucket + 1) & mask;
+                }
+                grown.hashes[bucket] = hashes[i];
+                grown.slots[bucket] = slots[i];
+            }
+            return grown;
+        }
+    }
+}
@@ -3,13 +3,19 @@ package com.spacecorp.asteroidmining.service;
 import com.spacecorp.asteroidmining.domain.Asteroid;
 import com.spacecorp.asteroidmining.exception.AiGenerationException;
 import com.spacecorp.asteroidmining.exception.AsteroidDiscoveryException;
+import com.spacecorp.asteroidmining.exception.InvalidRequestException;
 import com.spacecorp.asteroidmining.generator.AsteroidGenerator;
 import com.spacecorp.asteroidmining.repository.AsteroidRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.UnaryOperator;
 
 /**
  * Service responsible for the process of discovering new asteroids in outer space.
@@ -22,20 +28,29 @@ public class AsteroidDiscoveryService {
     private final AsteroidGenerator asteroidGenerator;
     private final AsteroidRepository asteroidRepository;
     private final double discoveryRate;
+    private final int maxBatchScans;
+    private final Counter discoveryHits;
+    private final Counter discoveryMisses;
 
     /**
      * Constructs the service with a specific generation strategy.
      *
      * @param asteroidGenerator the strategy used to create asteroid data,
      * injected based on the active configuration (e.g. {@code local, hybrid or llm}).
+     * @param meterRegistry counts the scans as {@code asteroid.discovery.scans}, tagged with the result {@code hit} or {@code miss}.
      */
     public AsteroidDiscoveryService(
             AsteroidGenerator asteroidGenerator,
             AsteroidRepository asteroidRepository,
-            @Value("${asteroid.discovery.discovery-rate:0.7}") double discoveryRate) {
+            @Value("${asteroid.discovery.discovery-rate:0.7}") double discoveryRate,
+            @Value("${asteroid.discovery.max-batch-scans:10000}") int maxBatchScans,
+            MeterRegistry meterRegistry) {
         this.asteroidGenerator = asteroidGenerator;
         this.asteroidRepository = asteroidRepository;
         this.discoveryRate = discoveryRate;
+        this.maxBatchScans = maxBatchScans;
+        this.discoveryHits = scanCounter(meterRegistry, "hit");
+        this.discoveryMisses = scanCounter(meterRegistry, "miss");
     }
 
     /**
@@ -51,16 +66,85 @@ public class AsteroidDiscoveryService {
     public Optional<Asteroid> discoverNewAsteroid() {
         // We randomly generate a new asteroid to simulate if a new asteroid could be discovered in space.
         if (ThreadLocalRandom.current().nextDouble(1.) > discoveryRate) {
+            discoveryMisses.increment();
             return Optional.empty();
         }
+        discoveryHits.increment();
 
         try {
             Asteroid newAsteroid = asteroidGenerator.generate();
-            Asteroid newAsteroidWithId = asteroidRepository.save(newAsteroid);
+            try {
+                Asteroid newAsteroidWithId = asteroidRepository.save(newAsteroid);
 
-            return Optional.of(newAsteroidWithId);
+                return Optional.of(newAsteroidWithId);
+            } finally {
+                asteroidGenerator.onSaved(List.of(newAsteroid));
+            }
         } catch (AiGenerationException e) {
             throw new AsteroidDiscoveryException("Asteroid discovery failed.", e);
         }
     }
+
+    /**
+     * Performs several deep-space scans at once.
+     * <p>Every scan has the same chance of discovering an asteroid as a single scan.
+     * All discovered asteroids are saved together with one batch operation of the repository.</p>
+     *
+     * @param scans the number of scans, between 1 and the configured maximum batch size.
+     * @return the discovered asteroids, which may be fewer than the number of scans.
+     * @throws InvalidRequestException if the number of scans is out of range.
+     * @throws AsteroidDiscoveryException if discovery fails (e.g. AI generation fails)
+     */
+    public List<Asteroid> discoverNewAsteroids(int scans) {
+        return discoverNewAsteroids(scans, UnaryOperator.identity());
+    }
+
+    /**
+     * Performs a batch of deep-space scans in one band of distances, e.g. one sector of a sweep.
+     * <p>The discovered asteroids are placed at a random distance within the band, no matter at which distance
+     * the generator created them, since the scans only cover this band.</p>
+     *
+     * @param scans          the number of scans, between 1 and the configured maximum batch size.
+     * @param fromLightYears the smallest distance of the band.
+     * @param toLightYears   the distance at which the band ends, exclusive.
+     * @return the discovered asteroids, which may be fewer than the number of scans.
+     * @throws InvalidRequestException if the number of scans is out of range.
+     * @throws AsteroidDiscoveryException if discovery fails (e.g. AI generation fails)
+     */
+    public List<Asteroid> discoverNewAsteroidsBetween(int scans, double fromLightYears, double toLightYears) {
+        return discoverNewAsteroids(scans, asteroid ->
+                asteroid.withDistance(ThreadLocalRandom.current().nextDouble(fromLightYears, toLightYears)));
+    }
+
+    private List<Asteroid> discoverNewAsteroids(int scans, UnaryOperator<Asteroid> placement) {
+        if (scans < 1 || scans > maxBatchScans) {
+            throw new InvalidRequestException("The number of scans must be between 1 and " + maxBatchScans + ".");
+        }
+
+        var random = ThreadLocalRandom.current();
+        List<Asteroid> newAsteroids = new ArrayList<>();
+        try {
+            for (int i = 0; i < scans; i++) {
+                if (random.nextDouble(1.) <= discoveryRate) {
+                    discoveryHits.increment();
+                    newAsteroids.add(placement.apply(asteroidGenerator.generate()));
+                } else {
+                    discoveryMisses.increment();
+                }
+            }
+            return asteroidRepository.saveAll(newAsteroids);
+        } catch (AiGenerationException e) {
+            throw new AsteroidDiscoveryException("Asteroid discovery failed.", e);
+        } finally {
+            // Also releases the names of the asteroids generated before a failure.
+            asteroidGenerator.onSaved(newAsteroids);
+        }
+    }
+
+    private static Counter scanCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("asteroid.discovery.scans")
+                .description("Deep-space scans by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 }
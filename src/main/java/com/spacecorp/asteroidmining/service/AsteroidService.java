@@ -1,13 +1,26 @@
 package com.spacecorp.asteroidmining.service;
 
 import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.AsteroidPage;
+import com.spacecorp.asteroidmining.domain.AsteroidStatistics;
 import com.spacecorp.asteroidmining.domain.ResourceType;
 import com.spacecorp.asteroidmining.exception.AsteroidNotFoundException;
+import com.spacecorp.asteroidmining.exception.InvalidRequestException;
+import com.spacecorp.asteroidmining.generator.AsteroidGenerator;
+import com.spacecorp.asteroidmining.generator.RandomAsteroidFactory;
 import com.spacecorp.asteroidmining.repository.AsteroidRepository;
 import com.spacecorp.asteroidmining.repository.MiningMarketRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Service layer for managing asteroid operations and financial valuations.
@@ -27,53 +40,170 @@ import java.util.List;
  * <li><b>Error Signaling:</b> Methods throw {@link AsteroidNotFoundException}
  * to signal missing domain objects, allowing the global handler to manage responses.</li>
  * </ul>
+ * <p>
+ * The queries run in read-only transactions, so the {@code postgres} profile can serve them from a read replica
+ * (see {@link com.spacecorp.asteroidmining.datasource.ReplicaDataSourceConfiguration}).
+ * </p>
  */
 @Service
 public class AsteroidService {
 
     private final AsteroidRepository asteroidRepo;
     private final MiningMarketRepository marketRepo;
+    private final RandomAsteroidFactory asteroidFactory;
+    private final AsteroidGenerator asteroidGenerator;
+    private final int maxPageSize;
+    private final long maxSeedCount;
 
     // Constructor Dependency Injection
-    public AsteroidService(AsteroidRepository asteroidRepo, MiningMarketRepository miningMarketRepo) {
+    public AsteroidService(AsteroidRepository asteroidRepo, MiningMarketRepository miningMarketRepo,
+                           RandomAsteroidFactory asteroidFactory, AsteroidGenerator asteroidGenerator,
+                           @Value("${asteroid.pagination.max-page-size:1000}") int maxPageSize,
+                           @Value("${asteroid.seeding.max-count:10000000}") long maxSeedCount) {
         this.asteroidRepo = asteroidRepo;
         this.marketRepo = miningMarketRepo;
+        this.asteroidFactory = asteroidFactory;
+        this.asteroidGenerator = asteroidGenerator;
+        this.maxPageSize = maxPageSize;
+        this.maxSeedCount = maxSeedCount;
     }
 
-    public List<Asteroid> getAllAsteroids() {
-        return asteroidRepo.findAll();
+    @Transactional(readOnly = true)
+    public AsteroidPage getAllAsteroids(Long after, int limit) {
+        return page(after, limit, asteroidRepo::findPage);
     }
 
+    @Transactional(readOnly = true)
     public Asteroid getAsteroidById(Long id) {
         return asteroidRepo.findById(id)
                 .orElseThrow(() -> new AsteroidNotFoundException("Asteroid with ID " + id + " not found!"));
     }
 
+    @Transactional(readOnly = true)
     public Asteroid getAsteroidByName(String name) {
         return asteroidRepo.findByName(name)
                 .orElseThrow(() -> new AsteroidNotFoundException("Asteroid with name " + name + " not found!"));
     }
 
-    public List<Asteroid> getAsteroidsInRange(double range) {
-        return asteroidRepo.findInRange(range);
+    @Transactional(readOnly = true)
+    public AsteroidPage getAsteroidsInRange(double range, Long after, int limit) {
+        return page(after, limit, (afterId, size) -> asteroidRepo.findInRange(range, afterId, size));
+    }
+
+    @Transactional(readOnly = true)
+    public AsteroidPage getAsteroidsWithResources(Set<ResourceType> resources, Long after, int limit) {
+        return page(after, limit, (afterId, size) -> asteroidRepo.findWithResources(resources, afterId, size));
+    }
+
+    @Transactional(readOnly = true)
+    public AsteroidPage getProfitableAsteroids(int minTotalValue, Long after, int limit) {
+        Map<ResourceType, Integer> prices = marketRepo.getMarketPrices();
+        return page(after, limit, (afterId, size) -> asteroidRepo.findWorthAtLeast(minTotalValue, prices, afterId, size));
+    }
+
+    /**
+     * The statistics of a database are computed with several queries, which must see the same snapshot
+     * of the catalog, so they run with repeatable reads.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public AsteroidStatistics getStatistics() {
+        return asteroidRepo.statistics();
+    }
+
+    /**
+     * Streams all asteroids for exports. The returned stream must be closed after use.
+     */
+    public Stream<Asteroid> streamAllAsteroids() {
+        return asteroidRepo.streamAll();
+    }
+
+    /**
+     * Imports a catalog, e.g. one that was exported by {@link #streamAllAsteroids()} in another environment.
+     * The imported asteroids get new ids.
+     * <p>
+     * The catalog is read and saved in chunks of {@value AsteroidRepository#IMPORT_CHUNK_SIZE} asteroids, so a chunk
+     * is only saved once all of its asteroids were read. If the catalog turns out to be invalid, the chunks saved
+     * before are kept on every repository, and the error reports how many asteroids were imported.
+     * The names of every chunk are passed to the {@link AsteroidGenerator}, so discoveries do not repeat them.
+     * </p>
+     *
+     * @param asteroids the asteroids of the catalog, read while they are saved. Invalid asteroids are reported
+     *                  by throwing an {@link InvalidRequestException} while reading.
+     * @return the number of imported asteroids.
+     * @throws InvalidRequestException if the catalog is invalid, with the number of asteroids imported before.
+     */
+    public long importAsteroids(Iterator<Asteroid> asteroids) {
+        long imported = 0;
+        for (List<Asteroid> chunk = readChunk(asteroids, imported); !chunk.isEmpty(); chunk = readChunk(asteroids, imported)) {
+            imported += asteroidRepo.importAll(chunk.iterator());
+            asteroidGenerator.onSaved(chunk);
+        }
+        return imported;
+    }
+
+    private static List<Asteroid> readChunk(Iterator<Asteroid> asteroids, long imported) {
+        List<Asteroid> chunk = new ArrayList<>(AsteroidRepository.IMPORT_CHUNK_SIZE);
+        try {
+            while (chunk.size() < AsteroidRepository.IMPORT_CHUNK_SIZE && asteroids.hasNext()) {
+                chunk.add(asteroids.next());
+            }
+        } catch (InvalidRequestException e) {
+            throw new InvalidRequestException(e.getMessage() + " " + imported + " asteroids were imported before.", e);
+        }
+        return chunk;
+    }
+
+    /**
+     * Adds a reproducible catalog of random asteroids, e.g. for load tests or simulations.
+     * The same seed always adds the same asteroids in the same order. They are saved in chunks like an import.
+     *
+     * @param seed  the seed of the generated catalog.
+     * @param count the number of asteroids, between 1 and the configured maximum.
+     * @return the number of added asteroids.
+     * @throws InvalidRequestException if the count is out of range.
+     */
+    public long seedAsteroids(long seed, long count) {
+        if (count < 1 || count > maxSeedCount) {
+            throw new InvalidRequestException("The number of asteroids must be between 1 and " + maxSeedCount + ".");
+        }
+        return importAsteroids(asteroidFactory.createSeeded(seed, count));
+    }
+
+    public Stream<Asteroid> streamAsteroidsInRange(double range) {
+        return asteroidRepo.streamInRange(range);
+    }
+
+    public Stream<Asteroid> streamAsteroidsWithResources(Set<ResourceType> resources) {
+        return asteroidRepo.streamWithResources(resources);
     }
 
-    public List<Asteroid> getAsteroidsWithResource(ResourceType resource) {
-        return asteroidRepo.findWithResource(resource);
+    public Stream<Asteroid> streamProfitableAsteroids(int minTotalValue) {
+        return asteroidRepo.streamWorthAtLeast(minTotalValue, marketRepo.getMarketPrices());
     }
 
-    public List<Asteroid> getProfitableAsteroids(int minTotalValue) {
-        return asteroidRepo.findAll().stream()
-                .filter(asteroid -> calculateTotalValue(asteroid) >= minTotalValue)
-                .toList();
+    /**
+     * Loads one page with keyset pagination.
+     * <p>
+     * The limit is capped at the configured maximum page size, so no request can load an unbounded
+     * part of the catalog. One asteroid more than requested is loaded to find out whether there is a next page.
+     * </p>
+     *
+     * @param after  the cursor of the previous page, or {@code null} for the first page.
+     * @param limit  the requested page size.
+     * @param finder loads up to the given number of asteroids after the given id.
+     */
+    private AsteroidPage page(Long after, int limit, PageFinder finder) {
+        int pageSize = Math.clamp(limit, 1, maxPageSize);
+        List<Asteroid> asteroids = finder.find(after == null ? 0 : after, pageSize + 1);
+        if (asteroids.size() <= pageSize) {
+            return new AsteroidPage(asteroids, null);
+        }
+        List<Asteroid> page = asteroids.subList(0, pageSize);
+        return new AsteroidPage(List.copyOf(page), page.getLast().id());
     }
 
-    private int calculateTotalValue(Asteroid asteroid) {
-        return asteroid.resources().entrySet().stream()
-                .mapToInt(entry -> {
-                    int pricePerUnit = marketRepo.getPriceFor(entry.getKey());
-                    return pricePerUnit * entry.getValue().amount();
-                })
-                .sum();
+    @FunctionalInterface
+    private interface PageFinder {
+        List<Asteroid> find(long afterId, int limit);
     }
 }
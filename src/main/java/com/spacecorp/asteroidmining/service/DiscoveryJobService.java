@@ -0,0 +1,138 @@
+package com.spacecorp.asteroidmining.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.DiscoveryJob;
+import com.spacecorp.asteroidmining.exception.DiscoveryJobNotFoundException;
+import com.spacecorp.asteroidmining.exception.TooManyDiscoveryJobsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs discoveries asynchronously, so slow generators (e.g. waiting for an LLM) do not block request threads.
+ * <p>
+ * Every job runs on its own virtual thread, which waits for one of the limited discovery slots and then
+ * performs the scan with the {@link AsteroidDiscoveryService}. The slots bound the number of parallel generations,
+ * the limit of unfinished jobs bounds the waiting ones. Completed jobs can be polled until their retention
+ * time has passed, unless more jobs completed within that time than are retained.
+ * </p>
+ */
+@Service
+public class DiscoveryJobService {
+    private static final Logger log = LoggerFactory.getLogger(DiscoveryJobService.class);
+
+    private final AsteroidDiscoveryService discoveryService;
+    private final Semaphore discoverySlots;
+    private final int maxUnfinishedJobs;
+    private final AtomicInteger unfinishedJobs = new AtomicInteger();
+    /**
+     * Unfinished jobs never expire, completed ones expire after the retention time. Only completed jobs are weighed,
+     * so completed jobs may be evicted early once the maximum number is retained, but unfinished jobs never.
+     */
+    private final Cache<UUID, DiscoveryJob> jobs;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("discovery-job-", 0).factory());
+
+    /**
+     * @param maxConcurrentDiscoveries the number of jobs generating asteroids at the same time.
+     * @param maxUnfinishedJobs        the number of pending and running jobs at which new jobs are rejected.
+     * @param retention                how long the result of a completed job can be polled.
+     * @param maxRetainedJobs          the number of completed jobs kept for polling at most.
+     * @param meterRegistry            publishes the pending and running jobs as {@code asteroid.discovery.jobs.unfinished}.
+     */
+    public DiscoveryJobService(
+            AsteroidDiscoveryService discoveryService,
+            @Value("${asteroid.discovery.jobs.max-concurrent-discoveries:16}") int maxConcurrentDiscoveries,
+            @Value("${asteroid.discovery.jobs.max-unfinished-jobs:1000}") int maxUnfinishedJobs,
+            @Value("${asteroid.discovery.jobs.retention:10m}") Duration retention,
+            @Value("${asteroid.discovery.jobs.max-retained-jobs:100000}") long maxRetainedJobs,
+            MeterRegistry meterRegistry) {
+        this.discoveryService = discoveryService;
+        this.discoverySlots = new Semaphore(maxConcurrentDiscoveries);
+        this.maxUnfinishedJobs = maxUnfinishedJobs;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfter(Expiry.<UUID, DiscoveryJob>writing((id, job) ->
+                        job.isCompleted() ? retention : Duration.ofNanos(Long.MAX_VALUE)))
+                .maximumWeight(maxRetainedJobs)
+                .weigher((UUID id, DiscoveryJob job) -> job.isCompleted() ? 1 : 0)
+                .build();
+        Gauge.builder("asteroid.discovery.jobs.unfinished", unfinishedJobs, AtomicInteger::get)
+                .description("Discovery jobs that are pending or running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accepts a new discovery job and starts it in the background.
+     *
+     * @return the pending job.
+     * @throws TooManyDiscoveryJobsException if the maximum number of unfinished jobs is reached.
+     */
+    public DiscoveryJob submit() {
+        if (unfinishedJobs.incrementAndGet() > maxUnfinishedJobs) {
+            unfinishedJobs.decrementAndGet();
+            throw new TooManyDiscoveryJobsException(
+                    "Too many discoveries in progress (" + maxUnfinishedJobs + "). Please try again later.");
+        }
+        DiscoveryJob job = DiscoveryJob.submitted(UUID.randomUUID());
+        jobs.put(job.id(), job);
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    /**
+     * @throws DiscoveryJobNotFoundException if the job is unknown or its retention time has passed.
+     */
+    public DiscoveryJob getJob(UUID id) {
+        DiscoveryJob job = jobs.getIfPresent(id);
+        if (job == null) {
+            throw new DiscoveryJobNotFoundException("Discovery job with ID " + id + " not found.");
+        }
+        return job;
+    }
+
+    /**
+     * Interrupts the running jobs, which then end as failed.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void run(DiscoveryJob job) {
+        try {
+            discoverySlots.acquire();
+            try {
+                jobs.put(job.id(), job.running());
+                Asteroid asteroid = discoveryService.discoverNewAsteroid().orElse(null);
+                jobs.put(job.id(), job.completed(asteroid));
+            } finally {
+                discoverySlots.release();
+            }
+        } catch (InterruptedException e) {
+            jobs.put(job.id(), job.failed("The discovery was cancelled."));
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // The reason can be polled by anyone, so it only references the logged exception.
+            String trackingId = UUID.randomUUID().toString();
+            log.error("Discovery job {} failed [Tracking-ID: {}]: ", job.id(), trackingId, e);
+            jobs.put(job.id(), job.failed(
+                    String.format("The discovery failed. Please try again later. (Ref: %s)", trackingId)));
+        } finally {
+            unfinishedJobs.decrementAndGet();
+        }
+    }
+}
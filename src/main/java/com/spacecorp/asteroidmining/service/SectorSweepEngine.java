@@ -0,0 +1,120 @@
+package com.spacecorp.asteroidmining.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Simulates continuous discovery load on the server, without clients calling the discover endpoints.
+ * <p>
+ * Space is split into a fixed number of sectors, which are bands of equal width of the distance from the station.
+ * On every sweep, each sector is scanned on its own virtual thread with a batch of deep-space scans of the
+ * {@link AsteroidDiscoveryService}, so every scan has the configured {@code asteroid.discovery.discovery-rate} chance
+ * to find an asteroid in the sector, and the finds of a sector are saved together.
+ * </p>
+ * <p>
+ * A limited number of sector scans may be in progress at the same time. If the generator or the repository
+ * falls behind, the sweeps skip the sectors for which no slot is free instead of queueing them, so the load
+ * adapts to what the application can sustain.
+ * The scanned, skipped and failed sectors are counted as {@code asteroid.discovery.sweep.sectors}, tagged with the result.
+ * </p>
+ * <p>This component is only loaded if the property {@code asteroid.discovery.sweep.enabled}
+ * is set to {@code true}.</p>
+ */
+@Service
+@ConditionalOnProperty(name = "asteroid.discovery.sweep.enabled", havingValue = "true")
+public class SectorSweepEngine {
+    private static final Logger log = LoggerFactory.getLogger(SectorSweepEngine.class);
+
+    private final AsteroidDiscoveryService discoveryService;
+    private final int sectors;
+    private final double sectorWidth;
+    private final int scansPerSector;
+    private final Semaphore sectorSlots;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sector-sweep-", 0).factory());
+    private final Counter scannedSectors;
+    private final Counter skippedSectors;
+    private final Counter failedSectors;
+
+    /**
+     * @param sectors              the number of sectors scanned by every sweep.
+     * @param maxDistance          the distance in light years up to which the sectors split space.
+     * @param scansPerSector       the number of deep-space scans per sector and sweep.
+     * @param maxSectorsInProgress the number of sector scans that may run at the same time.
+     */
+    public SectorSweepEngine(
+            AsteroidDiscoveryService discoveryService,
+            @Value("${asteroid.discovery.sweep.sectors:16}") int sectors,
+            @Value("${asteroid.discovery.sweep.max-distance:100}") double maxDistance,
+            @Value("${asteroid.discovery.sweep.scans-per-sector:10}") int scansPerSector,
+            @Value("${asteroid.discovery.sweep.max-sectors-in-progress:32}") int maxSectorsInProgress,
+            MeterRegistry meterRegistry) {
+        this.discoveryService = discoveryService;
+        this.sectors = sectors;
+        this.sectorWidth = maxDistance / sectors;
+        this.scansPerSector = scansPerSector;
+        this.sectorSlots = new Semaphore(maxSectorsInProgress);
+        this.scannedSectors = sectorCounter(meterRegistry, "scanned");
+        this.skippedSectors = sectorCounter(meterRegistry, "skipped");
+        this.failedSectors = sectorCounter(meterRegistry, "failed");
+    }
+
+    /**
+     * Starts the scans of all sectors that get a free slot, without waiting for them to complete.
+     */
+    @Scheduled(fixedRateString = "${asteroid.discovery.sweep.interval:1s}")
+    public void sweep() {
+        int skipped = 0;
+        for (int sector = 0; sector < sectors; sector++) {
+            if (!sectorSlots.tryAcquire()) {
+                skipped++;
+                continue;
+            }
+            int scannedSector = sector;
+            executor.execute(() -> scanSector(scannedSector));
+        }
+        if (skipped > 0) {
+            skippedSectors.increment(skipped);
+            log.debug("Sweep skipped {} of {} sectors, the previous scans are still in progress", skipped, sectors);
+        }
+    }
+
+    /**
+     * Interrupts the sector scans in progress.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void scanSector(int sector) {
+        try {
+            discoveryService.discoverNewAsteroidsBetween(scansPerSector,
+                    sector * sectorWidth, (sector + 1) * sectorWidth);
+            scannedSectors.increment();
+        } catch (RuntimeException e) {
+            failedSectors.increment();
+            log.warn("Scan of sector {} failed: {}", sector, e.getMessage());
+        } finally {
+            sectorSlots.release();
+        }
+    }
+
+    private static Counter sectorCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("asteroid.discovery.sweep.sectors")
+                .description("Sectors of the discovery sweeps by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,92 @@
+package com.spacecorp.asteroidmining.generator;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.generator.FallbackAsteroidGenerator.Tier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FallbackAsteroidGeneratorTest {
+
+    private static final Duration BUDGET = Duration.ofMillis(200);
+    private static final AsteroidGenerator LAST_RESORT = () -> asteroid("local");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void usesTheFirstTierThatSucceeds() throws Exception {
+        try (var generator = fallback(1, new Tier("llm", () -> asteroid("llm"), BUDGET),
+                new Tier("hybrid", () -> asteroid("hybrid"), BUDGET))) {
+            assertThat(generator.generate().name()).isEqualTo("llm");
+        }
+    }
+
+    @Test
+    void fallsBackToTheNextTierIfATierFails() throws Exception {
+        AsteroidGenerator failing = () -> {
+            throw new IllegalStateException("AI unavailable");
+        };
+        try (var generator = fallback(5, new Tier("llm", failing, BUDGET),
+                new Tier("hybrid", () -> asteroid("hybrid"), BUDGET))) {
+            assertThat(generator.generate().name()).isEqualTo("hybrid");
+        }
+        assertThat(fallbacks("llm", "failure")).isEqualTo(1);
+    }
+
+    @Test
+    void abandonsATierThatExceedsItsBudget() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AsteroidGenerator slow = () -> {
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return asteroid("slow");
+        };
+        try (var generator = fallback(5, new Tier("llm", slow, BUDGET))) {
+            long start = System.nanoTime();
+            assertThat(generator.generate().name()).isEqualTo("local");
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+        }
+        assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(fallbacks("llm", "timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void skipsATierWhileItsCircuitIsOpen() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AsteroidGenerator failing = () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("AI unavailable");
+        };
+        try (var generator = fallback(1, new Tier("llm", failing, BUDGET))) {
+            assertThat(generator.generate().name()).isEqualTo("local");
+            assertThat(generator.generate().name()).isEqualTo("local");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(fallbacks("llm", "circuit-open")).isEqualTo(1);
+    }
+
+    private FallbackAsteroidGenerator fallback(int failureThreshold, Tier... tiers) {
+        return new FallbackAsteroidGenerator(List.of(tiers), LAST_RESORT, failureThreshold, Duration.ofHours(1),
+                meterRegistry);
+    }
+
+    private double fallbacks(String tier, String reason) {
+        return meterRegistry.get("asteroid.generator.fallbacks").tag("tier", tier).tag("reason", reason)
+                .counter().count();
+    }
+
+    private static Asteroid asteroid(String name) {
+        return Asteroid.builder().name(name).build();
+    }
+}
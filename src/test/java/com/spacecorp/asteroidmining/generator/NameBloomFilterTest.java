@@ -0,0 +1,59 @@
+package com.spacecorp.asteroidmining.generator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NameBloomFilterTest {
+
+    private static final int EXPECTED_NAMES = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.03;
+
+    @Test
+    void reportsEveryPutNameAsContained() {
+        NameBloomFilter filter = new NameBloomFilter(EXPECTED_NAMES, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < EXPECTED_NAMES; i++) {
+            filter.put("Asteroid " + i);
+        }
+
+        for (int i = 0; i < EXPECTED_NAMES; i++) {
+            assertThat(filter.mightContain("Asteroid " + i)).as("Asteroid " + i).isTrue();
+        }
+    }
+
+    @Test
+    void keepsTheFalsePositiveRateWhenFilledToTheExpectedNames() {
+        NameBloomFilter filter = new NameBloomFilter(EXPECTED_NAMES, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < EXPECTED_NAMES; i++) {
+            filter.put("Asteroid " + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 200_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("Comet " + i)) {
+                falsePositives++;
+            }
+        }
+
+        double falsePositiveRate = (double) falsePositives / probes;
+        assertThat(falsePositiveRate).isBetween(FALSE_POSITIVE_RATE / 2, FALSE_POSITIVE_RATE * 1.2);
+    }
+
+    @Test
+    void reportsNoNameOfAnEmptyFilter() {
+        NameBloomFilter filter = new NameBloomFilter(EXPECTED_NAMES, FALSE_POSITIVE_RATE);
+
+        assertThat(filter.mightContain("Ceres")).isFalse();
+        assertThat(filter.sizeInBytes()).isBetween(85_000L, 95_000L);
+    }
+
+    @Test
+    void rejectsInvalidSizing() {
+        assertThatThrownBy(() -> new NameBloomFilter(0, FALSE_POSITIVE_RATE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new NameBloomFilter(EXPECTED_NAMES, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,135 @@
+package com.spacecorp.asteroidmining.generator;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.ResourceType;
+import com.spacecorp.asteroidmining.domain.RiskProfile;
+import com.spacecorp.asteroidmining.repository.AsteroidRepository;
+import com.spacecorp.asteroidmining.repository.InMemoryAsteroidRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UniqueNameAsteroidGeneratorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AsteroidRepository repository = new InMemoryAsteroidRepository();
+
+    @Test
+    void regeneratesAnAsteroidWhoseNameIsTaken() {
+        repository.save(asteroid("Ceres"));
+        UniqueNameAsteroidGenerator generator = uniqueNames(5, "Ceres", "Vesta");
+
+        assertThat(generator.generate().name()).isEqualTo("Vesta");
+        assertThat(names("collision")).isEqualTo(1);
+    }
+
+    @Test
+    void addsASuffixAfterTheMaximumNumberOfAttempts() {
+        repository.save(asteroid("Ceres"));
+        repository.save(asteroid("Ceres-2"));
+        UniqueNameAsteroidGenerator generator = uniqueNames(3, "Ceres", "Ceres", "Ceres");
+
+        Asteroid asteroid = generator.generate();
+
+        assertThat(asteroid.name()).isEqualTo("Ceres-3");
+        assertThat(asteroid.distanceInLightYears()).isEqualTo(7.);
+    }
+
+    @Test
+    void doesNotHandOutANamePendingForSaving() {
+        UniqueNameAsteroidGenerator generator = uniqueNames(1, "Pallas", "Pallas");
+
+        assertThat(generator.generate().name()).isEqualTo("Pallas");
+        assertThat(generator.generate().name()).isEqualTo("Pallas-2");
+    }
+
+    @Test
+    void releasesANameThatWasNotSaved() {
+        UniqueNameAsteroidGenerator generator = uniqueNames(1, "Juno", "Juno");
+
+        Asteroid discarded = generator.generate();
+        generator.onSaved(List.of(discarded));
+
+        assertThat(generator.generate().name()).isEqualTo("Juno");
+        assertThat(names("confirmed-new")).isEqualTo(2);
+    }
+
+    @Test
+    void acceptsNamesUnknownToThePopulatedFilterWithoutTheRepository() {
+        repository.save(asteroid("Ceres"));
+        UniqueNameAsteroidGenerator generator = uniqueNames(5, "Ceres", "Hygiea");
+        generator.populate();
+
+        assertThat(generator.generate().name()).isEqualTo("Hygiea");
+        assertThat(names("collision")).isEqualTo(1);
+        assertThat(names("new")).isEqualTo(1);
+        assertThat(names("confirmed-new")).isZero();
+    }
+
+    @Test
+    void rejectsNamesImportedAfterThePopulation() {
+        UniqueNameAsteroidGenerator generator = uniqueNames(5, "Eros", "Psyche");
+        generator.populate();
+        List<Asteroid> imported = List.of(asteroid("Eros"));
+        repository.importAll(imported.iterator());
+        generator.onSaved(imported);
+
+        assertThat(generator.generate().name()).isEqualTo("Psyche");
+        assertThat(names("collision")).isEqualTo(1);
+    }
+
+    @Test
+    void skipsAsteroidsWithoutAName() {
+        Asteroid nameless = asteroid(null);
+        repository.importAll(List.of(nameless).iterator());
+        UniqueNameAsteroidGenerator generator = uniqueNames(5, "Ida");
+        generator.populate();
+
+        generator.onSaved(List.of(nameless));
+
+        assertThat(generator.generate().name()).isEqualTo("Ida");
+        assertThat(names("new")).isEqualTo(1);
+    }
+
+    @Test
+    void regeneratesAnAsteroidWithoutAName() {
+        UniqueNameAsteroidGenerator generator = uniqueNames(2, null, "Ida");
+
+        assertThat(generator.generate().name()).isEqualTo("Ida");
+        assertThat(names("collision")).isEqualTo(1);
+    }
+
+    @Test
+    void namesAnAsteroidIfTheGeneratorNeverDoes() {
+        UniqueNameAsteroidGenerator generator = uniqueNames(1, (String) null);
+
+        assertThat(generator.generate().name()).isEqualTo("Asteroid-2");
+    }
+
+    private UniqueNameAsteroidGenerator uniqueNames(int maxAttempts, String... names) {
+        Deque<String> generatedNames = new LinkedList<>(Arrays.asList(names));
+        AsteroidGenerator delegate = () -> asteroid(generatedNames.removeFirst());
+        return new UniqueNameAsteroidGenerator(delegate, repository, 1000, 0.01, maxAttempts, meterRegistry);
+    }
+
+    private double names(String result) {
+        return meterRegistry.get("asteroid.generator.names").tag("result", result).counter().count();
+    }
+
+    private static Asteroid asteroid(String name) {
+        return Asteroid.builder()
+                .name(name)
+                .riskProfile(RiskProfile.SAFE)
+                .resources(Map.of(ResourceType.IRON, new Asteroid.ResourceAmount(10)))
+                .distanceInLightYears(7.)
+                .build();
+    }
+}
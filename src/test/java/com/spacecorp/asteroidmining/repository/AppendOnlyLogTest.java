@@ -0,0 +1,68 @@
+package com.spacecorp.asteroidmining.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AppendOnlyLogTest {
+
+    /**
+     * More elements than the initial chunk directory holds, so chunks are added and the directory grows.
+     */
+    private static final int ELEMENT_COUNT = 100_000;
+
+    @Test
+    void appendsAcrossChunksAndDirectoryGrowth() {
+        AppendOnlyLog<Integer> log = new AppendOnlyLog<>();
+        for (int i = 0; i < ELEMENT_COUNT; i++) {
+            assertThat(log.append(i)).isEqualTo(i);
+        }
+
+        assertThat(log.size()).isEqualTo(ELEMENT_COUNT);
+        assertThat(log.get(0)).isZero();
+        assertThat(log.get(4096)).isEqualTo(4096);
+        assertThat(log.get(ELEMENT_COUNT - 1)).isEqualTo(ELEMENT_COUNT - 1);
+        assertThatThrownBy(() -> log.get(ELEMENT_COUNT)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void snapshotDoesNotSeeLaterAppends() {
+        AppendOnlyLog<String> log = new AppendOnlyLog<>();
+        log.append("a");
+        log.append("b");
+
+        List<String> snapshot = log.snapshot();
+        log.append("c");
+
+        assertThat(snapshot).containsExactly("a", "b");
+        assertThat(log.snapshot()).containsExactly("a", "b", "c");
+        assertThatThrownBy(() -> snapshot.add("d")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void readersOnlySeeCompletelyPublishedElements() {
+        AppendOnlyLog<Integer> log = new AppendOnlyLog<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> {
+            while (writing.get()) {
+                List<Integer> snapshot = log.snapshot();
+                for (int i = 0; i < snapshot.size(); i++) {
+                    assertThat(snapshot.get(i)).isEqualTo(i);
+                }
+            }
+        });
+
+        for (int i = 0; i < ELEMENT_COUNT; i++) {
+            log.append(i);
+        }
+        writing.set(false);
+
+        reader.join();
+        assertThat(log.snapshot()).hasSize(ELEMENT_COUNT);
+    }
+}
@@ -0,0 +1,184 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.ResourceType;
+import com.spacecorp.asteroidmining.domain.RiskProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cases every in-process storage engine must pass. Each engine runs them in its own subclass,
+ * starting from the {@link SampleAsteroids#CATALOG sample catalog}.
+ */
+abstract class AsteroidRepositoryContractTest {
+
+    static final Map<ResourceType, Integer> PRICES = Map.of(
+            ResourceType.IRON, 1, ResourceType.GOLD, 50, ResourceType.PLATINUM, 100, ResourceType.KRYPTONITE, 1000);
+
+    AsteroidRepository repository;
+
+    abstract AsteroidRepository createRepository() throws Exception;
+
+    @BeforeEach
+    void createEngine() throws Exception {
+        repository = createRepository();
+    }
+
+    @Test
+    void startsWithTheSampleCatalog() {
+        assertThat(repository.findAll()).containsExactlyElementsOf(SampleAsteroids.CATALOG);
+    }
+
+    @Test
+    void saveAssignsTheNextIdAndRoundTrips() {
+        Asteroid saved = repository.save(asteroid("Vesta-Prime", 42.5, Map.of(ResourceType.GOLD, 7, ResourceType.IRON, 3)));
+
+        assertThat(saved.id()).isEqualTo(SampleAsteroids.CATALOG.size() + 1L);
+        assertThat(repository.findById(saved.id())).contains(saved);
+        assertThat(repository.findByName("Vesta-Prime")).contains(saved);
+        assertThat(repository.findAll()).endsWith(saved);
+    }
+
+    @Test
+    void saveAllReturnsTheAsteroidsWithIdsInOrder() {
+        List<Asteroid> saved = repository.saveAll(List.of(
+                asteroid("Batch-1", 1, Map.of()), asteroid("Batch-2", 2, Map.of(ResourceType.PLATINUM, 1))));
+
+        assertThat(saved).extracting(Asteroid::id)
+                .containsExactly(SampleAsteroids.CATALOG.size() + 1L, SampleAsteroids.CATALOG.size() + 2L);
+        assertThat(saved).extracting(Asteroid::name).containsExactly("Batch-1", "Batch-2");
+        assertThat(repository.findById(saved.getLast().id())).contains(saved.getLast());
+    }
+
+    @Test
+    void lookupsOfUnknownAsteroidsAreEmpty() {
+        assertThat(repository.findById(null)).isEmpty();
+        assertThat(repository.findById(0L)).isEmpty();
+        assertThat(repository.findById(Long.MAX_VALUE)).isEmpty();
+        assertThat(repository.findByName(null)).isEmpty();
+        assertThat(repository.findByName("Unknown")).isEmpty();
+    }
+
+    @Test
+    void duplicateNamesAreAllowed() {
+        repository.save(asteroid("Ceres-Alpha", 99, Map.of()));
+
+        assertThat(repository.findAll()).filteredOn(asteroid -> asteroid.name().equals("Ceres-Alpha")).hasSize(2);
+        assertThat(repository.findByName("Ceres-Alpha")).isPresent();
+        assertThat(repository.existsByName("Ceres-Alpha")).isTrue();
+        assertThat(repository.existsByName("Unknown")).isFalse();
+    }
+
+    @Test
+    void findInRangeIncludesTheMaximumDistance() {
+        assertThat(repository.findInRange(5.7)).extracting(Asteroid::id).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(repository.findInRange(0)).isEmpty();
+    }
+
+    @Test
+    void findWithResourcesRequiresAllResources() {
+        assertThat(repository.findWithResource(ResourceType.KRYPTONITE)).extracting(Asteroid::id).containsExactly(2L, 4L);
+        assertThat(repository.findWithResources(EnumSet.of(ResourceType.IRON, ResourceType.GOLD)))
+                .extracting(Asteroid::id).containsExactly(1L, 3L);
+        assertThat(repository.findWithResources(EnumSet.of(ResourceType.IRON, ResourceType.KRYPTONITE))).isEmpty();
+        assertThat(repository.findWithResources(Set.of())).hasSameSizeAs(SampleAsteroids.CATALOG);
+    }
+
+    @Test
+    void findWorthAtLeastValuesWithTheGivenPricesInIdOrder() {
+        // Values: 1 -> 1000, 2 -> 5500, 3 -> 700, 4 -> 1500000
+        assertThat(repository.findWorthAtLeast(1000, PRICES)).extracting(Asteroid::id).containsExactly(1L, 2L, 4L);
+        assertThat(repository.findWorthAtLeast(1000, Map.of(ResourceType.IRON, 2))).extracting(Asteroid::id)
+                .containsExactly(1L, 3L);
+    }
+
+    @Test
+    void pagesContinueAfterTheCursor() {
+        for (int i = 0; i < 6; i++) {
+            repository.save(asteroid("Page-" + i, i, Map.of()));
+        }
+
+        assertThat(repository.findPage(0, 4)).extracting(Asteroid::id).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(repository.findPage(4, 4)).extracting(Asteroid::id).containsExactly(5L, 6L, 7L, 8L);
+        assertThat(repository.findPage(8, 4)).extracting(Asteroid::id).containsExactly(9L, 10L);
+        assertThat(repository.findPage(10, 4)).isEmpty();
+    }
+
+    @Test
+    void filteredPagesSeekFromTheCursor() {
+        assertThat(repository.findInRange(20, 1, 1)).extracting(Asteroid::id).containsExactly(2L);
+        assertThat(repository.findInRange(20, 2, 10)).extracting(Asteroid::id).containsExactly(3L);
+        assertThat(repository.findWithResources(EnumSet.of(ResourceType.IRON, ResourceType.GOLD), 1, 10))
+                .extracting(Asteroid::id).containsExactly(3L);
+        assertThat(repository.findWithResources(Set.of(), 2, 1)).extracting(Asteroid::id).containsExactly(3L);
+        assertThat(repository.findWorthAtLeast(1000, PRICES, 0, 2)).extracting(Asteroid::id).containsExactly(1L, 2L);
+        assertThat(repository.findWorthAtLeast(1000, PRICES, 2, 2)).extracting(Asteroid::id).containsExactly(4L);
+        assertThat(repository.findWorthAtLeast(1000, PRICES, 4, 2)).isEmpty();
+    }
+
+    @Test
+    void selectiveFilterPagesSkipNonMatchingAsteroids() {
+        for (int i = 0; i < 200; i++) {
+            repository.save(asteroid("Far-" + i, 1000, Map.of(ResourceType.IRON, 1)));
+        }
+        List<Asteroid> near = repository.saveAll(List.of(
+                asteroid("Near-1", 1, Map.of(ResourceType.KRYPTONITE, 10_000)),
+                asteroid("Near-2", 2, Map.of(ResourceType.KRYPTONITE, 10_000)),
+                asteroid("Near-3", 3, Map.of(ResourceType.KRYPTONITE, 10_000))));
+        long firstNearId = near.getFirst().id();
+
+        assertThat(repository.findInRange(10, 4, 2)).extracting(Asteroid::id)
+                .containsExactly(firstNearId, firstNearId + 1);
+        assertThat(repository.findInRange(10, firstNearId, 2)).extracting(Asteroid::id)
+                .containsExactly(firstNearId + 1, firstNearId + 2);
+        assertThat(repository.findWithResources(EnumSet.of(ResourceType.KRYPTONITE), 4, 2)).extracting(Asteroid::id)
+                .containsExactly(firstNearId, firstNearId + 1);
+        assertThat(repository.findWorthAtLeast(10_000_000, PRICES, 4, 5)).extracting(Asteroid::id)
+                .containsExactly(firstNearId, firstNearId + 1, firstNearId + 2);
+    }
+
+    @Test
+    void filteredPagesFindMatchesAfterManyMatchesBeforeTheCursor() {
+        List<Asteroid> before = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            before.add(asteroid("Near-" + i, 1, Map.of(ResourceType.KRYPTONITE, 10_000)));
+        }
+        long cursor = repository.saveAll(before).getLast().id();
+        List<Asteroid> far = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            far.add(asteroid("Far-" + i, 1000, Map.of(ResourceType.IRON, 1)));
+        }
+        repository.saveAll(far);
+        long lastNearId = repository.save(asteroid("Near-Last", 1, Map.of(ResourceType.KRYPTONITE, 10_000))).id();
+
+        assertThat(repository.findInRange(10, cursor, 2)).extracting(Asteroid::id).containsExactly(lastNearId);
+        assertThat(repository.findWorthAtLeast(10_000_000, PRICES, cursor, 2)).extracting(Asteroid::id)
+                .containsExactly(lastNearId);
+    }
+
+    @Test
+    void statisticsCountEverySavedAsteroid() {
+        repository.save(asteroid("Far-Out", 250, Map.of(ResourceType.GOLD, 100)));
+
+        var statistics = repository.statistics();
+        assertThat(statistics.asteroidCount()).isEqualTo(SampleAsteroids.CATALOG.size() + 1L);
+        assertThat(statistics.resources().get(ResourceType.GOLD).asteroidCount()).isEqualTo(3);
+        assertThat(statistics.resources().get(ResourceType.GOLD).maxAmount()).isEqualTo(100);
+        assertThat(statistics.distanceHistogram().getLast().asteroidCount()).isEqualTo(1);
+    }
+
+    static Asteroid asteroid(String name, double distance, Map<ResourceType, Integer> amounts) {
+        Map<ResourceType, Asteroid.ResourceAmount> resources = new EnumMap<>(ResourceType.class);
+        amounts.forEach((resource, amount) -> resources.put(resource, new Asteroid.ResourceAmount(amount)));
+        return new Asteroid(null, name, RiskProfile.SAFE, resources, distance);
+    }
+}
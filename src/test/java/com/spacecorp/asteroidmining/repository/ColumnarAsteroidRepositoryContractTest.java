@@ -0,0 +1,9 @@
+package com.spacecorp.asteroidmining.repository;
+
+class ColumnarAsteroidRepositoryContractTest extends AsteroidRepositoryContractTest {
+
+    @Override
+    AsteroidRepository createRepository() {
+        return new ColumnarAsteroidRepository();
+    }
+}
@@ -0,0 +1,9 @@
+package com.spacecorp.asteroidmining.repository;
+
+class InMemoryAsteroidRepositoryContractTest extends AsteroidRepositoryContractTest {
+
+    @Override
+    AsteroidRepository createRepository() {
+        return new InMemoryAsteroidRepository();
+    }
+}
@@ -0,0 +1,23 @@
+package com.spacecorp.asteroidmining.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+class MappedFileAsteroidRepositoryContractTest extends AsteroidRepositoryContractTest {
+
+    @TempDir
+    Path directory;
+
+    @Override
+    AsteroidRepository createRepository() throws IOException {
+        return new MappedFileAsteroidRepository(directory, false);
+    }
+
+    @AfterEach
+    void closeFiles() throws IOException {
+        ((MappedFileAsteroidRepository) repository).close();
+    }
+}
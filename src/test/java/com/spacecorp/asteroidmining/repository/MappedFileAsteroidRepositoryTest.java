@@ -0,0 +1,112 @@
+package com.spacecorp.asteroidmining.repository;
+
+import com.spacecorp.asteroidmining.domain.Asteroid;
+import com.spacecorp.asteroidmining.domain.ResourceType;
+import com.spacecorp.asteroidmining.domain.RiskProfile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Crash recovery of the {@link MappedFileAsteroidRepository}. The queries are covered by
+ * {@link MappedFileAsteroidRepositoryContractTest}.
+ */
+class MappedFileAsteroidRepositoryTest {
+
+    private static final int SAMPLE_COUNT = SampleAsteroids.CATALOG.size();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopeningMapsTheSavedAsteroidsAgain() throws IOException {
+        Asteroid saved;
+        try (var repository = new Closing(new MappedFileAsteroidRepository(directory, true))) {
+            saved = repository.get().save(asteroid("Vesta-Prime", 42.5));
+            repository.get().saveAll(List.of(asteroid("Pallas-1", 1), asteroid("Pallas-2", 2)));
+        }
+
+        try (var reopened = new Closing(new MappedFileAsteroidRepository(directory, true))) {
+            MappedFileAsteroidRepository repository = reopened.get();
+            assertThat(repository.findAll()).hasSize(SAMPLE_COUNT + 3);
+            assertThat(repository.findById(saved.id())).contains(saved);
+            assertThat(repository.findByName("Pallas-2")).map(Asteroid::id).contains(SAMPLE_COUNT + 3L);
+            assertThat(repository.statistics().asteroidCount()).isEqualTo(SAMPLE_COUNT + 3);
+            // The sample catalog is only written into new files.
+            assertThat(repository.findByName("Ceres-Alpha")).map(Asteroid::id).contains(1L);
+        }
+    }
+
+    @Test
+    void recoveryIgnoresRecordsWrittenAfterTheLastCommit() throws IOException {
+        try (var repository = new Closing(new MappedFileAsteroidRepository(directory, false))) {
+            repository.get().save(asteroid("Committed", 7));
+        }
+        int committed = SAMPLE_COUNT + 1;
+        // A crash after writing the next record and name, but before the header update.
+        overwrite(MappedFileAsteroidRepository.RECORDS_FILE,
+                MappedFileAsteroidRepository.HEADER_SIZE + (long) committed * MappedFileAsteroidRepository.RECORD_SIZE,
+                MappedFileAsteroidRepository.RECORD_SIZE);
+        overwrite(MappedFileAsteroidRepository.NAMES_FILE, 4096, 512);
+
+        try (var reopened = new Closing(new MappedFileAsteroidRepository(directory, false))) {
+            MappedFileAsteroidRepository repository = reopened.get();
+            assertThat(repository.findAll()).hasSize(committed);
+            assertThat(repository.statistics().asteroidCount()).isEqualTo(committed);
+            assertThat(repository.findByName("Committed")).isPresent();
+
+            Asteroid next = repository.save(asteroid("After-Crash", 3));
+            assertThat(next.id()).isEqualTo(committed + 1L);
+            assertThat(repository.findById(next.id())).contains(next);
+        }
+    }
+
+    @Test
+    void failedBatchIsNotCommitted() throws IOException {
+        try (var repository = new Closing(new MappedFileAsteroidRepository(directory, false))) {
+            List<Asteroid> batch = List.of(asteroid("Valid", 1), asteroid("x".repeat(Short.MAX_VALUE + 1), 2));
+
+            assertThatThrownBy(() -> repository.get().saveAll(batch)).isInstanceOf(RuntimeException.class);
+
+            assertThat(repository.get().findAll()).hasSize(SAMPLE_COUNT);
+            assertThat(repository.get().findByName("Valid")).isEmpty();
+            Asteroid next = repository.get().save(asteroid("Next", 3));
+            assertThat(next.id()).isEqualTo(SAMPLE_COUNT + 1L);
+            assertThat(repository.get().findById(next.id())).contains(next);
+        }
+    }
+
+    private void overwrite(String file, long position, int length) throws IOException {
+        byte[] garbage = new byte[length];
+        Arrays.fill(garbage, (byte) 0x5A);
+        try (FileChannel channel = FileChannel.open(directory.resolve(file), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(garbage), position);
+        }
+    }
+
+    private static Asteroid asteroid(String name, double distance) {
+        return new Asteroid(null, name, RiskProfile.CAUTION,
+                Map.of(ResourceType.GOLD, new Asteroid.ResourceAmount(12)), distance);
+    }
+
+    /**
+     * Closes the repository at the end of a try-with-resources block, like the container does on shutdown.
+     */
+    private record Closing(MappedFileAsteroidRepository get) implements AutoCloseable {
+        @Override
+        public void close() throws IOException {
+            get.close();
+        }
+    }
+}